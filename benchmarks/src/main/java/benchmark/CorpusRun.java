@@ -0,0 +1,49 @@
+package benchmark;
+
+import constants.PunctuationConstants;
+import infrastructure.InformedDepthFirstNode;
+import infrastructure.Node;
+import io.InputParser;
+import service.OutputService;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+
+/**
+ * This class represents a single run of the regression runner, which solves a single instance of the corpus in its own JVM.
+ * A JVM per run gives each instance its own layout and makes the peak heap and the timeout of each run independent.
+ *
+ * @author Yahav Karpel
+ */
+public class CorpusRun {
+
+    /**
+     * This method solves the provided puzzle and prints its result as a single tab-separated line,
+     * namely the path cost (empty if there is no path), the number of nodes generated, the search time in nanoseconds
+     * and the peak heap usage in bytes.
+     *
+     * @param args the non-empty lines of the puzzle in the input file format.
+     */
+    public static void main(String[] args) {
+        InputParser.setInputLines(List.of(args));
+        InformedDepthFirstNode root = new InformedDepthFirstNode();
+        String searchName = InputParser.getSearchName();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans()
+                                                            .stream()
+                                                            .filter(pool -> pool.getType() == MemoryType.HEAP)
+                                                            .toList();
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long start = System.nanoTime();
+        Node targetNode = OutputService.executeSearch(root, searchName);
+        long searchTime = System.nanoTime() - start;
+        long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        String pathCost = targetNode != null ? String.valueOf(targetNode.getWeight()) : PunctuationConstants.EMPTY;
+        System.out.println(String.join(PunctuationConstants.TAB, pathCost, String.valueOf(Node.getNumNodes()), String.valueOf(searchTime), String.valueOf(peakHeap)));
+    }
+
+    private CorpusRun() {
+    }
+}
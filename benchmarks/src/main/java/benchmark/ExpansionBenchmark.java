@@ -0,0 +1,62 @@
+package benchmark;
+
+import component.Move;
+import infrastructure.InformedDepthFirstNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import service.InfrastructureService;
+import service.SearchService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class represents the benchmarks of the expansion of a node, namely generating its neighbors and evaluating their heuristic.
+ * Each operation is a single node of the pool.
+ *
+ * @author Yahav Karpel
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpansionBenchmark {
+
+    /**
+     * This method generates the neighbors of each node of the pool.
+     *
+     * @param puzzleState the pool of nodes.
+     * @param blackhole   the sink of the neighbors.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PuzzleState.NUM_NODES)
+    public void expandNode(PuzzleState puzzleState, Blackhole blackhole) {
+        for (InformedDepthFirstNode node : puzzleState.nodes) {
+            for (Move move : SearchService.getMoves(node)) {
+                blackhole.consume(SearchService.expandNode(node, move));
+            }
+        }
+    }
+
+    /**
+     * This method evaluates the heuristic of each node of the pool from scratch.
+     * The heuristic is selected by the heuristic system property, passed to the forked JVM by the -jvmArgs option.
+     *
+     * @param puzzleState the pool of nodes.
+     * @param blackhole   the sink of the heuristic evaluations.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PuzzleState.NUM_NODES)
+    public void h(PuzzleState puzzleState, Blackhole blackhole) {
+        for (InformedDepthFirstNode node : puzzleState.nodes) {
+            blackhole.consume(InfrastructureService.h(node.getBoard()));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package benchmark;
+
+import infrastructure.BucketQueue;
+import infrastructure.InformedNode;
+import infrastructure.StateTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class represents the benchmark of the open list of A*, namely its priority queue together with its frontier table.
+ * Each operation is a single node of the pool, added to the open list and later removed from it.
+ *
+ * @author Yahav Karpel
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpenListBenchmark {
+
+    /**
+     * This method adds the nodes of the pool to an empty open list and then removes them in order of priority, as A* does.
+     *
+     * @param puzzleState the pool of nodes.
+     * @param blackhole   the sink of the removed nodes.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PuzzleState.NUM_NODES)
+    public void addAndRemove(PuzzleState puzzleState, Blackhole blackhole) {
+        BucketQueue<InformedNode> pq = new BucketQueue<>();
+        StateTable<InformedNode> frontier = new StateTable<>();
+        for (InformedNode node : puzzleState.nodes) {
+            pq.add(node);
+            frontier.put(node);
+        }
+
+        while (!pq.isEmpty()) {
+            InformedNode node = pq.remove();
+            blackhole.consume(frontier.remove(node.getKey()));
+        }
+    }
+}
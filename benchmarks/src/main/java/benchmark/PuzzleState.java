@@ -0,0 +1,124 @@
+package benchmark;
+
+import component.Move;
+import infrastructure.InformedDepthFirstNode;
+import io.InputParser;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import service.SearchService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * This class represents the puzzle shared by the benchmarks, namely a pool of nodes sampled along a random walk from the target.
+ * The dimensions and the gray and red pieces are held in static tables, so they are set once per forked JVM, before any of
+ * these tables is initialized. Therefore, the benchmarks must run with at least one fork, which JMH does per parameter set.
+ *
+ * @author Yahav Karpel
+ */
+@State(Scope.Benchmark)
+public class PuzzleState {
+
+    public static final int NUM_NODES = 256;
+
+    private static final long SEED = 42;
+    // the number of moves made from the target before the nodes are sampled
+    private static final int NUM_WARMUP_MOVES = 100;
+
+    @Param({"3x3", "3x4", "4x4"})
+    public String dimension;
+
+    // the fraction of the pieces that are colored, half of them gray and half of them red
+    @Param({"0.0", "0.2"})
+    public double density;
+
+    public InformedDepthFirstNode[] nodes;
+
+    /**
+     * This method sets the input of the puzzle and samples the pool of nodes.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(SEED);
+        InputParser.setInputLines(createInputLines(random));
+        InformedDepthFirstNode node = new InformedDepthFirstNode();
+        for (int i = 0; i < NUM_WARMUP_MOVES; i++) {
+            node = makeRandomMove(node, random);
+        }
+
+        nodes = new InformedDepthFirstNode[NUM_NODES];
+        for (int i = 0; i < NUM_NODES; i++) {
+            node = makeRandomMove(node, random);
+            node.updateF();
+            nodes[i] = node;
+        }
+    }
+
+    /**
+     * This method creates the input lines of the target, where the colored pieces are chosen at random.
+     * Gray pieces stay at their target cells, so they are placed there from the start.
+     *
+     * @param random the source of randomness.
+     * @return A list of strings representing the non-empty lines of the puzzle.
+     */
+    private List<String> createInputLines(Random random) {
+        String[] dimensions = dimension.split("x");
+        int numOfRows = Integer.parseInt(dimensions[0]);
+        int numOfCols = Integer.parseInt(dimensions[1]);
+        int numPieces = numOfRows * numOfCols - 1;
+        List<Integer> pieces = IntStream.rangeClosed(1, numPieces).boxed().collect(Collectors.toList());
+        Collections.shuffle(pieces, random);
+        int numColored = (int) Math.round(density * numPieces);
+        List<Integer> grayPieces = pieces.subList(0, numColored / 2);
+        List<Integer> redPieces = pieces.subList(numColored / 2, numColored);
+
+        List<String> inputLines = new ArrayList<>();
+        inputLines.add("A*");
+        inputLines.add(dimension);
+        inputLines.add("Gray: " + grayPieces.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        inputLines.add("Red: " + redPieces.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        for (int row = 0; row < numOfRows; row++) {
+            List<String> rowPieces = new ArrayList<>();
+            for (int col = 0; col < numOfCols; col++) {
+                int piece = row * numOfCols + col + 1;
+                rowPieces.add(piece <= numPieces ? String.valueOf(piece) : "_");
+            }
+
+            inputLines.add(String.join(",", rowPieces));
+        }
+
+        return inputLines;
+    }
+
+    /**
+     * This method makes a random move from the provided node, without reversing the move that generated it
+     * unless the empty piece is in a dead end.
+     *
+     * @param node   the current node.
+     * @param random the source of randomness.
+     * @return The node after the move.
+     */
+    private static InformedDepthFirstNode makeRandomMove(InformedDepthFirstNode node, Random random) {
+        List<InformedDepthFirstNode> neighbors = new ArrayList<>();
+        for (Move move : SearchService.getMoves(node)) {
+            InformedDepthFirstNode neighbor = SearchService.expandNode(node, move);
+            if (neighbor != null) {
+                neighbors.add(neighbor);
+            }
+        }
+
+        if (neighbors.isEmpty()) {
+            return (InformedDepthFirstNode) node.getParent();
+        }
+
+        return neighbors.get(random.nextInt(neighbors.size()));
+    }
+}
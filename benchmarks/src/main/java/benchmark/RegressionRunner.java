@@ -0,0 +1,325 @@
+package benchmark;
+
+import constants.PunctuationConstants;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class represents a regression runner, which solves every instance of the corpus by each of the five classic algorithms
+ * and compares the results against the baseline file. Each instance is solved in its own JVM, which is killed once the timeout
+ * runs out. A run fails if an optimal algorithm finds a path whose cost is not the known optimal cost, if any algorithm finds
+ * a path cheaper than it or costlier than its baseline path, if it no longer solves an instance that the baseline solved,
+ * or if it generates more nodes or takes more time than the baseline, beyond the tolerances.
+ * Since the node counts are deterministic, the default node tolerance is zero, so any change in the number of nodes generated
+ * must be accepted by updating the baseline.
+ *
+ * @author Yahav Karpel
+ */
+public class RegressionRunner {
+
+    private static final List<String> SEARCH_NAMES = List.of("BFS", "IDDFS", "A*", "IDA*", "DFBnB");
+    // BFS and IDDFS find the path with the fewest moves, which costs more than the optimal path once red pieces are involved
+    private static final Set<String> OPTIMAL_SEARCH_NAMES = Set.of("A*", "IDA*", "DFBnB");
+    private static final String CORPUS_FILE_NAME = "corpus/corpus.tsv";
+    private static final String BASELINE_FILE_NAME = "corpus/baseline.tsv";
+    private static final String BASELINE_HEADER = String.join(PunctuationConstants.TAB, "Instance", "Algorithm", "Status", "Path cost",
+                                                              "Num of nodes generated", "Seconds", "Peak heap (MB)");
+
+    private static final String TIMEOUT_PROPERTY = "regression.timeout";
+    private static final int DEFAULT_TIMEOUT = 30;
+    private static final String HEAP_PROPERTY = "regression.heap";
+    private static final String DEFAULT_HEAP = "2g";
+    private static final String NODES_TOLERANCE_PROPERTY = "regression.nodes.tolerance";
+    private static final String DEFAULT_NODES_TOLERANCE = "0";
+    private static final String TIME_TOLERANCE_PROPERTY = "regression.time.tolerance";
+    private static final String DEFAULT_TIME_TOLERANCE = "0.5";
+    // short searches are dominated by noise, so the time tolerance is never tighter than this many seconds
+    private static final double MIN_TIME_TOLERANCE = 0.25;
+    private static final String UPDATE_PROPERTY = "regression.update";
+    private static final String DIFFICULTY_PROPERTY = "regression.difficulty";
+
+    private static final String SOLVED = "Solved";
+    private static final String NO_PATH = "No path";
+    private static final String TIMEOUT = "Timeout";
+    private static final String ERROR = "Error";
+
+    /**
+     * This method runs the corpus, prints a report of the runs and either compares them against the baseline file or,
+     * if the regression.update system property is set, updates the baseline file with them. The instances may be limited
+     * to a comma-separated list of difficulties by the regression.difficulty system property.
+     * The JVM exits with a non-zero status if any run fails.
+     *
+     * @param args unused.
+     * @throws IOException if the corpus or the baseline file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        List<Instance> instances = readCorpus(Path.of(CORPUS_FILE_NAME));
+        Map<String, Result> baseline = readBaseline(Path.of(BASELINE_FILE_NAME));
+        boolean update = Boolean.getBoolean(UPDATE_PROPERTY);
+        String difficulties = System.getProperty(DIFFICULTY_PROPERTY);
+        List<Result> results = new ArrayList<>();
+        int numFailures = 0;
+        System.out.println(BASELINE_HEADER + PunctuationConstants.TAB + "Verdict");
+        for (Instance instance : instances) {
+            if (difficulties != null && !List.of(difficulties.split(PunctuationConstants.COMMA)).contains(instance.difficulty)) {
+                continue;
+            }
+
+            for (String searchName : SEARCH_NAMES) {
+                Result result = run(instance, searchName);
+                String verdict = judge(instance, result, update ? null : baseline.get(result.getKey()));
+                if (verdict.startsWith("FAIL")) {
+                    numFailures++;
+                }
+
+                results.add(result);
+                System.out.println(result.toRecord() + PunctuationConstants.TAB + verdict);
+            }
+        }
+
+        if (update) {
+            results.forEach(result -> baseline.put(result.getKey(), result));
+            writeBaseline(Path.of(BASELINE_FILE_NAME), instances, baseline);
+            System.out.println("Baseline updated: " + BASELINE_FILE_NAME);
+        }
+
+        System.out.println(String.format("%d runs, %d failed", results.size(), numFailures));
+        if (numFailures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * This method reads the instances of the corpus, one per line after the header.
+     * The board rows of each instance are separated by slashes.
+     *
+     * @param corpusFile the corpus file.
+     * @return The instances of the corpus.
+     * @throws IOException if the corpus file cannot be read.
+     */
+    private static List<Instance> readCorpus(Path corpusFile) throws IOException {
+        List<Instance> instances = new ArrayList<>();
+        for (String[] fields : readRecords(corpusFile)) {
+            instances.add(new Instance(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], Integer.parseInt(fields[6])));
+        }
+
+        return instances;
+    }
+
+    /**
+     * This method reads the results of the baseline file, keyed by their instance and algorithm.
+     *
+     * @param baselineFile the baseline file.
+     * @return The results of the baseline, or an empty map if there is no baseline file.
+     * @throws IOException if the baseline file cannot be read.
+     */
+    private static Map<String, Result> readBaseline(Path baselineFile) throws IOException {
+        Map<String, Result> baseline = new HashMap<>();
+        if (Files.exists(baselineFile)) {
+            for (String[] fields : readRecords(baselineFile)) {
+                Result result = new Result(fields[0], fields[1], fields[2], fields[3], Long.parseLong(fields[4]),
+                                           Double.parseDouble(fields[5]), Double.parseDouble(fields[6]));
+                baseline.put(result.getKey(), result);
+            }
+        }
+
+        return baseline;
+    }
+
+    /**
+     * This method reads the tab-separated records of the provided file, skipping its header.
+     *
+     * @param file the file.
+     * @return The fields of each record.
+     * @throws IOException if the file cannot be read.
+     */
+    private static List<String[]> readRecords(Path file) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        List<String> lines = Files.readAllLines(file);
+        for (String line : lines.subList(1, lines.size())) {
+            if (!line.isBlank()) {
+                records.add(line.split(PunctuationConstants.TAB, -1));
+            }
+        }
+
+        return records;
+    }
+
+    /**
+     * This method writes the provided results to the baseline file, in the order of the corpus.
+     *
+     * @param baselineFile the baseline file.
+     * @param instances    the instances of the corpus.
+     * @param results      the results of the runs, keyed by their instance and algorithm.
+     * @throws IOException if the baseline file cannot be written.
+     */
+    private static void writeBaseline(Path baselineFile, List<Instance> instances, Map<String, Result> results) throws IOException {
+        try (PrintWriter baselineWriter = new PrintWriter(Files.newBufferedWriter(baselineFile))) {
+            baselineWriter.println(BASELINE_HEADER);
+            for (Instance instance : instances) {
+                for (String searchName : SEARCH_NAMES) {
+                    Result result = results.get(instance.name + PunctuationConstants.TAB + searchName);
+                    if (result != null) {
+                        baselineWriter.println(result.toRecord());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * This method solves the provided instance by the provided algorithm in a new JVM.
+     *
+     * @param instance   the instance of the corpus.
+     * @param searchName the name of the search algorithm.
+     * @return The result of the run.
+     * @throws IOException if the JVM cannot be started.
+     */
+    private static Result run(Instance instance, String searchName) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Xmx" + System.getProperty(HEAP_PROPERTY, DEFAULT_HEAP));
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(CorpusRun.class.getName());
+        command.addAll(instance.createInputLines(searchName));
+
+        File outputFile = File.createTempFile("corpus-run", ".txt");
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(outputFile).start();
+            if (!process.waitFor(Integer.getInteger(TIMEOUT_PROPERTY, DEFAULT_TIMEOUT), TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+                return new Result(instance.name, searchName, TIMEOUT, PunctuationConstants.EMPTY, 0, 0, 0);
+            }
+
+            List<String> output = Files.readAllLines(outputFile.toPath());
+            if (process.exitValue() != 0 || output.isEmpty()) {
+                return new Result(instance.name, searchName, ERROR, PunctuationConstants.EMPTY, 0, 0, 0);
+            }
+
+            String[] fields = output.get(output.size() - 1).split(PunctuationConstants.TAB, -1);
+            return new Result(instance.name, searchName, fields[0].isEmpty() ? NO_PATH : SOLVED, fields[0], Long.parseLong(fields[1]),
+                              Long.parseLong(fields[2]) / 1e9, Long.parseLong(fields[3]) / (double) (1 << 20));
+        } finally {
+            Files.deleteIfExists(outputFile.toPath());
+        }
+    }
+
+    /**
+     * This method judges the provided result against the known optimal cost of its instance and against its baseline.
+     *
+     * @param instance the instance of the corpus.
+     * @param result   the result of the run.
+     * @param baseline the result of the baseline, or null if there is none.
+     * @return The verdict, which starts with FAIL if the run failed.
+     */
+    private static String judge(Instance instance, Result result, Result baseline) {
+        if (result.status.equals(SOLVED)) {
+            int pathCost = Integer.parseInt(result.pathCost);
+            if (pathCost < instance.optimalCost || pathCost != instance.optimalCost && OPTIMAL_SEARCH_NAMES.contains(result.searchName)) {
+                return String.format("FAIL: path cost %d instead of %d", pathCost, instance.optimalCost);
+            }
+        }
+
+        if (baseline == null) {
+            return "OK (no baseline)";
+        }
+
+        if (!result.status.equals(baseline.status)) {
+            return baseline.status.equals(SOLVED) ? "FAIL: " + result.status : "OK (" + result.status + " instead of " + baseline.status + ")";
+        }
+
+        if (!result.status.equals(SOLVED)) {
+            return "OK";
+        }
+
+        if (!result.pathCost.equals(baseline.pathCost)) {
+            return String.format("FAIL: path cost %s instead of %s", result.pathCost, baseline.pathCost);
+        }
+
+        double nodesTolerance = Double.parseDouble(System.getProperty(NODES_TOLERANCE_PROPERTY, DEFAULT_NODES_TOLERANCE));
+        if (result.numNodes > baseline.numNodes * (1 + nodesTolerance)) {
+            return String.format("FAIL: %d nodes instead of %d", result.numNodes, baseline.numNodes);
+        }
+
+        double timeTolerance = Double.parseDouble(System.getProperty(TIME_TOLERANCE_PROPERTY, DEFAULT_TIME_TOLERANCE));
+        if (result.seconds > baseline.seconds + Math.max(baseline.seconds * timeTolerance, MIN_TIME_TOLERANCE)) {
+            return String.format("FAIL: %.3f seconds instead of %.3f", result.seconds, baseline.seconds);
+        }
+
+        return "OK";
+    }
+
+    private static class Instance {
+
+        private final String name;
+        private final String difficulty;
+        private final String dimension;
+        private final String grayPieces;
+        private final String redPieces;
+        private final String board;
+        private final int optimalCost;
+
+        public Instance(String name, String difficulty, String dimension, String grayPieces, String redPieces, String board, int optimalCost) {
+            this.name = name;
+            this.difficulty = difficulty;
+            this.dimension = dimension;
+            this.grayPieces = grayPieces;
+            this.redPieces = redPieces;
+            this.board = board;
+            this.optimalCost = optimalCost;
+        }
+
+        public List<String> createInputLines(String searchName) {
+            List<String> inputLines = new ArrayList<>();
+            inputLines.add(searchName);
+            inputLines.add(dimension);
+            inputLines.add(("Gray: " + grayPieces).trim());
+            inputLines.add(("Red: " + redPieces).trim());
+            inputLines.addAll(List.of(board.split("/")));
+            return inputLines;
+        }
+    }
+
+    private static class Result {
+
+        private final String instanceName;
+        private final String searchName;
+        private final String status;
+        private final String pathCost;
+        private final long numNodes;
+        private final double seconds;
+        private final double peakHeap;
+
+        public Result(String instanceName, String searchName, String status, String pathCost, long numNodes, double seconds, double peakHeap) {
+            this.instanceName = instanceName;
+            this.searchName = searchName;
+            this.status = status;
+            this.pathCost = pathCost;
+            this.numNodes = numNodes;
+            this.seconds = seconds;
+            this.peakHeap = peakHeap;
+        }
+
+        public String getKey() {
+            return instanceName + PunctuationConstants.TAB + searchName;
+        }
+
+        public String toRecord() {
+            return String.join(PunctuationConstants.TAB, instanceName, searchName, status, pathCost, String.valueOf(numNodes),
+                               String.format("%.3f", seconds), String.format("%.1f", peakHeap));
+        }
+    }
+
+    private RegressionRunner() {
+    }
+}
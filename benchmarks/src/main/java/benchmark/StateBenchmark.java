@@ -0,0 +1,71 @@
+package benchmark;
+
+import infrastructure.InformedDepthFirstNode;
+import infrastructure.StateKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class represents the benchmarks of the checks and the keys of a state, which are made for every generated node.
+ * Each operation is a single node of the pool.
+ *
+ * @author Yahav Karpel
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateBenchmark {
+
+    /**
+     * This method checks if each node of the pool represents the target.
+     *
+     * @param puzzleState the pool of nodes.
+     * @param blackhole   the sink of the checks.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PuzzleState.NUM_NODES)
+    public void isTarget(PuzzleState puzzleState, Blackhole blackhole) {
+        for (InformedDepthFirstNode node : puzzleState.nodes) {
+            blackhole.consume(node.isTarget());
+        }
+    }
+
+    /**
+     * This method creates and hashes the key of each node of the pool, as done once per generated node.
+     *
+     * @param puzzleState the pool of nodes.
+     * @param blackhole   the sink of the hash codes.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PuzzleState.NUM_NODES)
+    public void keyHashCode(PuzzleState puzzleState, Blackhole blackhole) {
+        for (InformedDepthFirstNode node : puzzleState.nodes) {
+            blackhole.consume(new StateKey(node.getBoard()).hashCode());
+        }
+    }
+
+    /**
+     * This method hashes the string representation of each node of the pool, as a baseline for the key.
+     *
+     * @param puzzleState the pool of nodes.
+     * @param blackhole   the sink of the hash codes.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PuzzleState.NUM_NODES)
+    public void toStringHashCode(PuzzleState puzzleState, Blackhole blackhole) {
+        for (InformedDepthFirstNode node : puzzleState.nodes) {
+            blackhole.consume(node.toString().hashCode());
+        }
+    }
+}
@@ -1,8 +1,19 @@
+import constants.IOConstants;
+import io.BatchPrinter;
+import io.InstanceGenerator;
 import io.OutputPrinter;
 
 public class Main {
 
     public static void main(String[] args) {
-        OutputPrinter.printSearchOutput();
+        String generatedFileName = System.getProperty(IOConstants.GENERATE_PROPERTY);
+        String batchFileName = System.getProperty(IOConstants.BATCH_PROPERTY);
+        if (generatedFileName != null) {
+            InstanceGenerator.printGeneratedInstances(generatedFileName);
+        } else if (batchFileName == null) {
+            OutputPrinter.printSearchOutput();
+        } else {
+            BatchPrinter.printBatchOutput(batchFileName);
+        }
     }
 }
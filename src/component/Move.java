@@ -0,0 +1,9 @@
+package component;
+
+/**
+ * This record represents a legal move of the empty piece, namely the generating operator and the index the empty piece moves to.
+ *
+ * @author Yahav Karpel
+ */
+public record Move(GeneratingOperator generatingOperator, int nextEmptyPieceIndex) {
+}
@@ -0,0 +1,21 @@
+package constants;
+
+/**
+ * This class stores the constants used by the heuristic package.
+ *
+ * @author Yahav Karpel
+ */
+public class HeuristicConstants {
+
+    public static final String HEURISTIC_PROPERTY = "heuristic";
+    public static final String DEFAULT_HEURISTIC_NAME = "Manhattan";
+
+    public static final String PDB_DIRECTORY_PROPERTY = "pdb.dir";
+    public static final String DEFAULT_PDB_DIRECTORY = "pdb";
+    public static final String PDB_FILE_EXTENSION = ".pdb";
+    public static final int PDB_MAGIC = 0x43535044;
+    public static final int MAX_PDB_SEARCH_STATES = 1 << 24;
+
+    private HeuristicConstants() {
+    }
+}
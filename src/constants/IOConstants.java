@@ -10,8 +10,39 @@ public class IOConstants {
     public static final String INPUT_FILE_NAME = "Input.txt";
     public static final String DIMENSION_DELIMITER = "x";
     public static final String NUMERIC_VALUES_DELIMITER = PunctuationConstants.COMMA;
+    // the algorithm name, the dimension and the gray and red pieces precede the board lines
+    public static final int NUM_OF_HEADER_LINES = 4;
+
+    public static final String BATCH_PROPERTY = "batch";
+    public static final String BATCH_THREADS_PROPERTY = "batch.threads";
+    public static final String RESULTS_FILE_NAME = "Results.txt";
+    public static final String RESULTS_HEADER = String.join(PunctuationConstants.TAB,
+                                                            "Instance", "Algorithm", "Dimension", "Path",
+                                                            "Num of nodes generated", "Path cost", "Seconds");
 
     public static final String OUTPUT_FILE_NAME = "Output.txt";
+    public static final String METRICS_PROPERTY = "metrics";
+
+    public static final String GENERATE_PROPERTY = "generate";
+    public static final String GENERATE_COUNT_PROPERTY = "generate.count";
+    public static final String GENERATE_SEED_PROPERTY = "generate.seed";
+    public static final long DEFAULT_GENERATE_SEED = 1;
+    public static final String GENERATE_ALGORITHM_PROPERTY = "generate.algorithm";
+    public static final String DEFAULT_GENERATE_ALGORITHM = "A*";
+    public static final String GENERATE_DIMENSION_PROPERTY = "generate.dimension";
+    public static final String DEFAULT_GENERATE_DIMENSION = "3x3";
+    public static final String GENERATE_GRAY_PROPERTY = "generate.gray";
+    public static final String GENERATE_RED_PROPERTY = "generate.red";
+    public static final String GENERATE_METHOD_PROPERTY = "generate.method";
+    public static final String WALK_METHOD = "walk";
+    public static final String PERMUTATION_METHOD = "permutation";
+    public static final String GENERATE_WALK_LENGTH_PROPERTY = "generate.walk.length";
+    public static final int DEFAULT_GENERATE_WALK_LENGTH = 200;
+    public static final String GENERATE_MIN_COST_PROPERTY = "generate.min.cost";
+    public static final String GENERATE_MAX_COST_PROPERTY = "generate.max.cost";
+    public static final int MAX_GENERATION_ATTEMPTS = 1 << 16;
+    public static final String GRAY_PIECES_HEADER = "Gray:";
+    public static final String RED_PIECES_HEADER = "Red:";
 
     private IOConstants() {
     }
@@ -7,6 +7,7 @@ public class PunctuationConstants {
     public static final String DASH = "-";
     public static final String COMMA = ",";
     public static final String UNDERSCORE = "_";
+    public static final String TAB = "\t";
 
     private PunctuationConstants() {
     }
@@ -7,11 +7,48 @@ package constants;
  */
 public class SearchConstants {
 
-    public static final int NOT_FOUND = -1;
     public static final String TARGET = "target";
     public static final String POTENTIAL = "potential";
     public static final String REDUNDANT = "redundant";
 
+    public static final String THREADS_PROPERTY = "threads";
+
+    public static final String TRANSPOSITION_TABLE_SIZE_PROPERTY = "tt.size";
+    public static final int DEFAULT_TRANSPOSITION_TABLE_SIZE = 1 << 22;
+
+    public static final String DFBNB_SEED_PROPERTY = "dfbnb.seed";
+    public static final String DFBNB_SEED_WEIGHT_PROPERTY = "dfbnb.seed.weight";
+    public static final String DEFAULT_DFBNB_SEED_WEIGHT = "1.25";
+    public static final String DFBNB_SEED_BUDGET_PROPERTY = "dfbnb.seed.budget";
+    public static final long DEFAULT_DFBNB_SEED_BUDGET = 1 << 20;
+
+    public static final String ARA_WEIGHT_PROPERTY = "ara.weight";
+    public static final String DEFAULT_ARA_WEIGHT = "1.5";
+    public static final String ARA_WEIGHT_STEP_PROPERTY = "ara.weight.step";
+    public static final String DEFAULT_ARA_WEIGHT_STEP = "0.1";
+    public static final String ARA_TIME_BUDGET_PROPERTY = "ara.time.budget";
+    public static final long DEFAULT_ARA_TIME_BUDGET = 10_000;
+    public static final int ARA_TIME_CHECK_INTERVAL = 1 << 10;
+
+    // the progress events are checked every interval of expansions, and committed at most once per period
+    public static final int PROGRESS_EVENT_CHECK_INTERVAL = 1 << 12;
+    public static final long PROGRESS_EVENT_PERIOD = 1_000_000_000L;
+
+    public static final String SMA_NODE_BUDGET_PROPERTY = "sma.budget";
+    public static final long DEFAULT_SMA_NODE_BUDGET = 1 << 20;
+
+    public static final String EXTERNAL_DIRECTORY_PROPERTY = "external.dir";
+    public static final String EXTERNAL_PARTITIONS_PROPERTY = "external.partitions";
+    public static final int DEFAULT_EXTERNAL_PARTITIONS = 16;
+    public static final int EXTERNAL_BUFFER_SIZE = 1 << 13;
+
+    public static final String TABLEBASE_DIRECTORY_PROPERTY = "tablebase.dir";
+    public static final String DEFAULT_TABLEBASE_DIRECTORY = "tablebase";
+    public static final String TABLEBASE_FILE_EXTENSION = ".tb";
+    public static final String TABLEBASE_REPORT_FILE_SUFFIX = "-report.txt";
+    public static final int TABLEBASE_MAGIC = 0x43535442;
+    public static final int MAX_TABLEBASE_STATES = 1 << 24;
+
     private SearchConstants() {
     }
 }
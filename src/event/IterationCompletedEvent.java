@@ -0,0 +1,32 @@
+package event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * This class represents a flight recorder event of a completed iteration of an iterative-deepening search.
+ * The duration of the event is the duration of the iteration.
+ *
+ * @author Yahav Karpel
+ */
+@Name("puzzle.IterationCompleted")
+@Label("Iteration Completed")
+@Category({"Colored Sliding Puzzle", "Search"})
+@Description("An iteration of IDA* searched up to its threshold")
+@StackTrace(false)
+public class IterationCompletedEvent extends jdk.jfr.Event {
+
+    @Label("Threshold")
+    public int threshold;
+
+    @Label("Next Threshold")
+    @Description("The lowest f value above the threshold, or Integer.MAX_VALUE if there is none")
+    public int nextThreshold;
+
+    @Label("Nodes Expanded")
+    @Description("Nodes expanded during the iteration")
+    public long numExpandedNodes;
+}
@@ -0,0 +1,45 @@
+package event;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * This class represents a flight recorder event of the progress of a search, committed periodically by each search thread.
+ *
+ * @author Yahav Karpel
+ */
+@Name("puzzle.SearchProgress")
+@Label("Search Progress")
+@Category({"Colored Sliding Puzzle", "Search"})
+@Description("Periodic progress of a search thread")
+@StackTrace(false)
+public class SearchProgressEvent extends jdk.jfr.Event {
+
+    @Label("Expansion Rate")
+    @Description("Nodes expanded per second since the previous progress event")
+    public double expansionRate;
+
+    @Label("Nodes Expanded")
+    public long numExpandedNodes;
+
+    @Label("Nodes Generated")
+    public long numGeneratedNodes;
+
+    @Label("Bound")
+    @Description("The threshold of an iterative-deepening search, or the highest f value expanded otherwise")
+    public int bound;
+
+    @Label("Open List Size")
+    public long openSize;
+
+    @Label("Closed List Size")
+    public long closedSize;
+
+    @Label("Heap Used")
+    @DataAmount
+    public long heapUsed;
+}
@@ -0,0 +1,31 @@
+package event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * This class represents a flight recorder event of a solution found by a search.
+ * The duration of the event is the duration of the search.
+ *
+ * @author Yahav Karpel
+ */
+@Name("puzzle.SolutionFound")
+@Label("Solution Found")
+@Category({"Colored Sliding Puzzle", "Search"})
+@StackTrace(false)
+public class SolutionFoundEvent extends jdk.jfr.Event {
+
+    @Label("Search Name")
+    public String searchName;
+
+    @Label("Path Cost")
+    public int pathCost;
+
+    @Label("Path Length")
+    public int pathLength;
+
+    @Label("Nodes Generated")
+    public long numGeneratedNodes;
+}
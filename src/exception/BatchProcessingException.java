@@ -0,0 +1,18 @@
+package exception;
+
+/**
+ * This class represents an exception thrown while loading the classes of a puzzle layout of a batch.
+ *
+ * @author Yahav Karpel
+ */
+public class BatchProcessingException extends RuntimeException {
+
+    /**
+     * This method constructs a new BatchProcessingException with a default message and a cause.
+     *
+     * @param cause the cause of the exception, providing additional context about the error.
+     */
+    public BatchProcessingException(Throwable cause) {
+        super("Error while loading the classes of a puzzle layout.", cause);
+    }
+}
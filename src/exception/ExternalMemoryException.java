@@ -0,0 +1,18 @@
+package exception;
+
+/**
+ * This class represents an exception thrown while reading or writing the files of an external-memory search.
+ *
+ * @author Yahav Karpel
+ */
+public class ExternalMemoryException extends RuntimeException {
+
+    /**
+     * This method constructs a new ExternalMemoryException with a default message and a cause.
+     *
+     * @param cause the cause of the exception, providing additional context about the error.
+     */
+    public ExternalMemoryException(Throwable cause) {
+        super("Error while reading or writing the external memory files.", cause);
+    }
+}
@@ -0,0 +1,18 @@
+package exception;
+
+/**
+ * This class represents an exception thrown when no instance meeting the requirements is generated within the maximal number of attempts.
+ *
+ * @author Yahav Karpel
+ */
+public class InstanceGenerationException extends IllegalArgumentException {
+
+    /**
+     * This method constructs a new InstanceGenerationException with a message indicating the requirement that was not met.
+     *
+     * @param requirement the requirement that was not met.
+     */
+    public InstanceGenerationException(String requirement) {
+        super(String.format("No instance %s was generated within the maximal number of attempts.", requirement));
+    }
+}
@@ -0,0 +1,18 @@
+package exception;
+
+/**
+ * This class represents an exception thrown while storing or loading a pattern database.
+ *
+ * @author Yahav Karpel
+ */
+public class PatternDatabaseException extends RuntimeException {
+
+    /**
+     * This method constructs a new PatternDatabaseException with a default message and a cause.
+     *
+     * @param cause the cause of the exception, providing additional context about the error.
+     */
+    public PatternDatabaseException(Throwable cause) {
+        super("Error while storing or loading the pattern database.", cause);
+    }
+}
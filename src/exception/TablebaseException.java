@@ -0,0 +1,18 @@
+package exception;
+
+/**
+ * This class represents an exception thrown while storing or loading a tablebase.
+ *
+ * @author Yahav Karpel
+ */
+public class TablebaseException extends RuntimeException {
+
+    /**
+     * This method constructs a new TablebaseException with a default message and a cause.
+     *
+     * @param cause the cause of the exception, providing additional context about the error.
+     */
+    public TablebaseException(Throwable cause) {
+        super("Error while storing or loading the tablebase.", cause);
+    }
+}
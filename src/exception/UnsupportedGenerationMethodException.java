@@ -0,0 +1,18 @@
+package exception;
+
+/**
+ * This class represents an exception thrown when unsupported generation method is encountered.
+ *
+ * @author Yahav Karpel
+ */
+public class UnsupportedGenerationMethodException extends IllegalArgumentException {
+
+    /**
+     * This method constructs a new UnsupportedGenerationMethodException with a message indicating the unsupported generation method.
+     *
+     * @param methodName the unsupported generation method that triggered the exception.
+     */
+    public UnsupportedGenerationMethodException(String methodName) {
+        super(String.format("Unsupported generation method: '%s'.", methodName));
+    }
+}
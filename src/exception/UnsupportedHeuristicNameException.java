@@ -0,0 +1,18 @@
+package exception;
+
+/**
+ * This class represents an exception thrown when unsupported heuristic name is encountered.
+ *
+ * @author Yahav Karpel
+ */
+public class UnsupportedHeuristicNameException extends IllegalArgumentException {
+
+    /**
+     * This method constructs a new UnsupportedHeuristicNameException with a message indicating the unsupported heuristic name.
+     *
+     * @param heuristicName the unsupported heuristic name that triggered the exception.
+     */
+    public UnsupportedHeuristicNameException(String heuristicName) {
+        super(String.format("Unsupported heuristic name: '%s'.", heuristicName));
+    }
+}
@@ -0,0 +1,18 @@
+package exception;
+
+/**
+ * This class represents an exception thrown when the state space of the puzzle is too large for a tablebase.
+ *
+ * @author Yahav Karpel
+ */
+public class UnsupportedTablebaseSizeException extends IllegalArgumentException {
+
+    /**
+     * This method constructs a new UnsupportedTablebaseSizeException with a message indicating the number of movable cells.
+     *
+     * @param numMovableCells the number of cells not held by gray pieces.
+     */
+    public UnsupportedTablebaseSizeException(int numMovableCells) {
+        super(String.format("Unsupported tablebase size: %d movable cells.", numMovableCells));
+    }
+}
@@ -0,0 +1,27 @@
+package heuristic;
+
+/**
+ * This interface represents an admissible heuristic evaluation of a configuration of the puzzle.
+ *
+ * @author Yahav Karpel
+ */
+public interface Heuristic {
+
+    /**
+     * This method calculates the heuristic evaluation of the provided board.
+     *
+     * @param board the tile ids of a configuration of the pieces.
+     * @return The calculated heuristic evaluation.
+     */
+    int h(byte[] board);
+
+    /**
+     * This method calculates the change in the heuristic evaluation caused by sliding a single piece into the empty space.
+     *
+     * @param board the tile ids of the configuration before the move.
+     * @param from  the index the piece slides from.
+     * @param to    the index the piece slides to, namely the index of the empty piece.
+     * @return The change in the heuristic evaluation.
+     */
+    int calcHDelta(byte[] board, int from, int to);
+}
@@ -0,0 +1,157 @@
+package heuristic;
+
+import component.Dimension;
+import service.InfrastructureService;
+import service.PointService;
+
+/**
+ * This class represents the cost-weighted Manhattan distance enhanced with color-weighted linear conflicts.
+ * Pieces that are in their target row (or column) but in reversed order must partly leave the line and come back,
+ * which costs at least two extra moves of each piece that leaves. In each line, the cheapest set of pieces whose
+ * removal leaves the rest in order is charged, so the cheapest-colored pieces pay for the conflicts. Pieces fixed
+ * on the board never take part in a conflict, which keeps the heuristic admissible. The instance is shared by concurrent
+ * searches, so the scratch buffers of the line evaluation are kept per thread.
+ *
+ * @author Yahav Karpel
+ */
+public class LinearConflict implements Heuristic {
+
+    private static final int NO_MOVE = -1;
+
+    private final ManhattanDistance manhattanDistance = new ManhattanDistance();
+    private final int[] costs = new int[Dimension.BOARD_SIZE];
+    private final ThreadLocal<LineBuffers> lineBuffers = ThreadLocal.withInitial(LineBuffers::new);
+
+    /**
+     * This method constructs the linear-conflict heuristic.
+     */
+    public LinearConflict() {
+        for (int tile = 0; tile < Dimension.BOARD_SIZE; tile++) {
+            costs[tile] = InfrastructureService.toPiece(tile).color().cost;
+        }
+    }
+
+    /**
+     * This method calculates the heuristic evaluation of the provided board.
+     *
+     * @param board the tile ids of a configuration of the pieces.
+     * @return The calculated heuristic evaluation.
+     */
+    @Override
+    public int h(byte[] board) {
+        LineBuffers buffers = lineBuffers.get();
+        int sum = manhattanDistance.h(board);
+        for (int r = 0; r < Dimension.NUM_OF_ROWS; r++) {
+            sum += calcConflicts(buffers, board, r, true, NO_MOVE, NO_MOVE);
+        }
+
+        for (int c = 0; c < Dimension.NUM_OF_COLS; c++) {
+            sum += calcConflicts(buffers, board, c, false, NO_MOVE, NO_MOVE);
+        }
+
+        return sum;
+    }
+
+    /**
+     * This method calculates the change in the heuristic evaluation caused by sliding a single piece into the empty space.
+     * A horizontal move keeps the order of every row and changes only the two columns it crosses, and vice versa,
+     * so only two lines are evaluated before and after the move.
+     *
+     * @param board the tile ids of the configuration before the move.
+     * @param from  the index the piece slides from.
+     * @param to    the index the piece slides to, namely the index of the empty piece.
+     * @return The change in the heuristic evaluation.
+     */
+    @Override
+    public int calcHDelta(byte[] board, int from, int to) {
+        boolean isHorizontalMove = PointService.toRow(from) == PointService.toRow(to);
+        boolean isRow = !isHorizontalMove;
+        int fromLine = isRow ? PointService.toRow(from) : PointService.toColumn(from);
+        int toLine = isRow ? PointService.toRow(to) : PointService.toColumn(to);
+        LineBuffers buffers = lineBuffers.get();
+        int before = calcConflicts(buffers, board, fromLine, isRow, NO_MOVE, NO_MOVE)
+                + calcConflicts(buffers, board, toLine, isRow, NO_MOVE, NO_MOVE);
+        int after = calcConflicts(buffers, board, fromLine, isRow, from, to) + calcConflicts(buffers, board, toLine, isRow, from, to);
+        return manhattanDistance.calcHDelta(board, from, to) + after - before;
+    }
+
+    /**
+     * This method calculates the conflict penalty of the provided line, optionally as if a single piece had slid.
+     * The pieces that may stay form a maximal-cost subsequence in target order, and each of the others is charged
+     * twice its cost.
+     *
+     * @param buffers the scratch buffers of the current thread.
+     * @param board   the tile ids of a configuration of the pieces.
+     * @param line    the index of the row or column.
+     * @param isRow   true if the line is a row, false if it is a column.
+     * @param from    the index the piece slides from, or NO_MOVE to evaluate the board as is.
+     * @param to      the index the piece slides to, or NO_MOVE to evaluate the board as is.
+     * @return The conflict penalty of the line.
+     */
+    private int calcConflicts(LineBuffers buffers, byte[] board, int line, boolean isRow, int from, int to) {
+        int length = isRow ? Dimension.NUM_OF_COLS : Dimension.NUM_OF_ROWS;
+        int[] targets = buffers.targets;
+        int[] lineCosts = buffers.lineCosts;
+        int numPieces = 0;
+        int totalCost = 0;
+        for (int i = 0; i < length; i++) {
+            int cell = isRow ? line * Dimension.NUM_OF_COLS + i : i * Dimension.NUM_OF_COLS + line;
+            int tile = getTile(board, cell, from, to);
+            int targetLine = isRow ? PointService.toRow(tile) : PointService.toColumn(tile);
+            if (costs[tile] > 0 && targetLine == line) {
+                targets[numPieces] = isRow ? PointService.toColumn(tile) : PointService.toRow(tile);
+                lineCosts[numPieces] = costs[tile];
+                totalCost += costs[tile];
+                numPieces++;
+            }
+        }
+
+        if (numPieces < 2) {
+            return 0;
+        }
+
+        // best[i] holds the maximal cost of an ordered subsequence ending with the i-th piece
+        int[] best = buffers.best;
+        int maxKept = 0;
+        for (int i = 0; i < numPieces; i++) {
+            best[i] = lineCosts[i];
+            for (int j = 0; j < i; j++) {
+                if (targets[j] < targets[i]) {
+                    best[i] = Math.max(best[i], best[j] + lineCosts[i]);
+                }
+            }
+
+            maxKept = Math.max(maxKept, best[i]);
+        }
+
+        return 2 * (totalCost - maxKept);
+    }
+
+    /**
+     * This method returns the tile id at the provided cell, optionally as if a single piece had slid.
+     *
+     * @param board the tile ids of a configuration of the pieces.
+     * @param cell  the index of the cell.
+     * @param from  the index the piece slides from, or NO_MOVE to read the board as is.
+     * @param to    the index the piece slides to, or NO_MOVE to read the board as is.
+     * @return The tile id at the cell.
+     */
+    private static int getTile(byte[] board, int cell, int from, int to) {
+        if (cell == to) {
+            return board[from];
+        }
+
+        if (cell == from) {
+            return InfrastructureService.EMPTY_TILE;
+        }
+
+        return board[cell];
+    }
+
+    private static class LineBuffers {
+
+        private final int[] targets = new int[Math.max(Dimension.NUM_OF_ROWS, Dimension.NUM_OF_COLS)];
+        private final int[] lineCosts = new int[targets.length];
+        private final int[] best = new int[targets.length];
+    }
+}
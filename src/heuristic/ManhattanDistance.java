@@ -0,0 +1,108 @@
+package heuristic;
+
+import component.Color;
+import component.Dimension;
+import component.Point;
+import service.InfrastructureService;
+
+/**
+ * This class represents the sum of the Manhattan distances of the pieces from their target cells, weighted by their costs.
+ * The distances are precomputed once into a table indexed by tile id and then by cell index. The target cells are those of
+ * the target pattern by default, but may be taken from any other board, such as the input board of a backward search.
+ *
+ * @author Yahav Karpel
+ */
+public class ManhattanDistance implements Heuristic {
+
+    private final int[][] weightedDistances;
+
+    /**
+     * This method constructs the weighted Manhattan distance to the target pattern.
+     */
+    public ManhattanDistance() {
+        int[] targetCells = new int[Dimension.BOARD_SIZE];
+        for (int tile = 0; tile < Dimension.BOARD_SIZE; tile++) {
+            targetCells[tile] = tile;
+        }
+
+        weightedDistances = createWeightedDistances(targetCells);
+    }
+
+    /**
+     * This method constructs the weighted Manhattan distance to the provided board.
+     *
+     * @param targetBoard the tile ids of the configuration whose cells are the target cells of the pieces.
+     */
+    public ManhattanDistance(byte[] targetBoard) {
+        int[] targetCells = new int[Dimension.BOARD_SIZE];
+        for (int cell = 0; cell < Dimension.BOARD_SIZE; cell++) {
+            targetCells[targetBoard[cell]] = cell;
+        }
+
+        weightedDistances = createWeightedDistances(targetCells);
+    }
+
+    /**
+     * This method creates the table of cost-weighted Manhattan distances, indexed by tile id and then by cell index.
+     *
+     * @param targetCells the target cell of each tile id.
+     * @return The created table.
+     */
+    private static int[][] createWeightedDistances(int[] targetCells) {
+        int[][] weightedDistances = new int[Dimension.BOARD_SIZE][Dimension.BOARD_SIZE];
+        for (int tile = 0; tile < Dimension.BOARD_SIZE; tile++) {
+            Color color = InfrastructureService.toPiece(tile).color();
+            if (color.hasPositiveCost()) {
+                for (int cell = 0; cell < Dimension.BOARD_SIZE; cell++) {
+                    weightedDistances[tile][cell] = color.cost * calcManhattanDistance(targetCells[tile], cell);
+                }
+            }
+        }
+
+        return weightedDistances;
+    }
+
+    /**
+     * This method calculates the Manhattan distance between the provided arguments.
+     *
+     * @param arg1 the first argument.
+     * @param arg2 the second argument.
+     * @return The Manhattan distance between the first and second arguments.
+     */
+    private static int calcManhattanDistance(int arg1, int arg2) {
+        Point p1 = new Point(arg1);
+        Point p2 = new Point(arg2);
+        return p1.calcAbsRowDistance(p2) + p1.calcAbsColumnDistance(p2);
+    }
+
+    /**
+     * This method calculates the heuristic evaluation of the provided board.
+     *
+     * @param board the tile ids of a configuration of the pieces.
+     * @return The calculated heuristic evaluation.
+     */
+    @Override
+    public int h(byte[] board) {
+        int sum = 0;
+        for (int i = 0; i < board.length; i++) {
+            sum += weightedDistances[board[i]][i];
+        }
+
+        return sum;
+    }
+
+    /**
+     * This method calculates the change in the heuristic evaluation caused by sliding a single piece into the empty space.
+     * Only the distance of the sliding piece changes, so the change is found in constant time.
+     *
+     * @param board the tile ids of the configuration before the move.
+     * @param from  the index the piece slides from.
+     * @param to    the index the piece slides to, namely the index of the empty piece.
+     * @return The change in the heuristic evaluation.
+     */
+    @Override
+    public int calcHDelta(byte[] board, int from, int to) {
+        int[] tileDistances = weightedDistances[board[from]];
+        return tileDistances[to] - tileDistances[from];
+    }
+}
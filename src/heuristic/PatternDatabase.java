@@ -0,0 +1,400 @@
+package heuristic;
+
+import component.Dimension;
+import component.Move;
+import constants.HeuristicConstants;
+import exception.PatternDatabaseException;
+import infrastructure.IntStack;
+import service.InfrastructureService;
+import service.SearchService;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class represents an additive pattern database heuristic that respects the colors of the pieces.
+ * The movable pieces are partitioned into disjoint groups, and each group has a table holding the minimal cost of
+ * moving only its own pieces, weighted by their costs, into their target cells. Since the groups are disjoint,
+ * the sum of their table entries is admissible.
+ * <p>
+ * Each table is built once by a backward search from the target and stored in a file keyed by the dimensions and the
+ * gray and red pieces. Later runs map the file into memory instead of building the tables again.
+ *
+ * @author Yahav Karpel
+ */
+public class PatternDatabase implements Heuristic {
+
+    private static final char UNREACHABLE = Character.MAX_VALUE;
+
+    private final int[][] groups;
+    private final int[] groupOfTile = new int[Dimension.BOARD_SIZE];
+    private final int[] weightOfTile = new int[Dimension.BOARD_SIZE];
+    private final CharBuffer[] tables;
+
+    /**
+     * This method constructs the pattern database, loading its tables from the file system or building them if needed.
+     */
+    public PatternDatabase() {
+        groups = createGroups();
+        Arrays.fill(groupOfTile, -1);
+        for (int g = 0; g < groups.length; g++) {
+            int weight = 1;
+            for (int tile : groups[g]) {
+                groupOfTile[tile] = g;
+                weightOfTile[tile] = weight;
+                weight *= Dimension.BOARD_SIZE;
+            }
+        }
+
+        tables = loadTables(createPath());
+    }
+
+    /**
+     * This method partitions the movable pieces into groups, each small enough for its backward search to fit in memory.
+     *
+     * @return The tile ids of each group.
+     */
+    private static int[][] createGroups() {
+        int groupSize = 1;
+        while (Math.pow(Dimension.BOARD_SIZE, groupSize + 2) <= HeuristicConstants.MAX_PDB_SEARCH_STATES) {
+            groupSize++;
+        }
+
+        List<Integer> movableTiles = new ArrayList<>();
+        for (int tile = 0; tile < Dimension.BOARD_SIZE; tile++) {
+            if (InfrastructureService.toPiece(tile).color().hasPositiveCost()) {
+                movableTiles.add(tile);
+            }
+        }
+
+        int numGroups = (movableTiles.size() + groupSize - 1) / groupSize;
+        int[][] groups = new int[numGroups][];
+        for (int g = 0; g < numGroups; g++) {
+            groups[g] = movableTiles.subList(g * groupSize, Math.min((g + 1) * groupSize, movableTiles.size()))
+                                    .stream()
+                                    .mapToInt(Integer::intValue)
+                                    .toArray();
+        }
+
+        return groups;
+    }
+
+    /**
+     * This method creates the path of the file holding the tables, keyed by the dimensions and the gray and red pieces.
+     *
+     * @return The path of the file.
+     */
+    private static Path createPath() {
+        String directory = System.getProperty(HeuristicConstants.PDB_DIRECTORY_PROPERTY, HeuristicConstants.DEFAULT_PDB_DIRECTORY);
+        return Paths.get(directory, InfrastructureService.createLayoutName() + HeuristicConstants.PDB_FILE_EXTENSION);
+    }
+
+    /**
+     * This method maps the tables from the provided file, building and storing them first if the file is missing or stale.
+     *
+     * @param path the path of the file.
+     * @return The mapped tables.
+     * @throws PatternDatabaseException if an IOException occurs while storing or loading the tables.
+     */
+    private CharBuffer[] loadTables(Path path) {
+        try {
+            CharBuffer[] tables = mapTables(path);
+            if (tables == null) {
+                storeTables(path);
+                tables = mapTables(path);
+            }
+
+            return tables;
+        } catch (IOException e) {
+            throw new PatternDatabaseException(e);
+        }
+    }
+
+    /**
+     * This method maps the tables from the provided file into memory.
+     *
+     * @param path the path of the file.
+     * @return The mapped tables, or null if the file is missing or does not match the groups.
+     * @throws IOException if an I/O error occurs.
+     */
+    private CharBuffer[] mapTables(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (!matchesHeader(buffer)) {
+                return null;
+            }
+
+            CharBuffer[] tables = new CharBuffer[groups.length];
+            int offset = buffer.position();
+            for (int g = 0; g < groups.length; g++) {
+                int tableSize = calcTableSize(groups[g]);
+                tables[g] = buffer.slice(offset, tableSize * Character.BYTES).asCharBuffer();
+                offset += tableSize * Character.BYTES;
+            }
+
+            return tables;
+        }
+    }
+
+    /**
+     * This method checks if the header of the provided buffer matches the groups, and skips past it.
+     *
+     * @param buffer the buffer holding the file.
+     * @return true if the header matches the groups, false otherwise.
+     */
+    private boolean matchesHeader(ByteBuffer buffer) {
+        if (buffer.remaining() < calcHeaderSize()
+                || buffer.getInt() != HeuristicConstants.PDB_MAGIC
+                || buffer.getInt() != Dimension.BOARD_SIZE
+                || buffer.getInt() != groups.length) {
+            return false;
+        }
+
+        for (int[] group : groups) {
+            if (buffer.getInt() != group.length) {
+                return false;
+            }
+
+            for (int tile : group) {
+                if (buffer.getInt() != tile) {
+                    return false;
+                }
+            }
+        }
+
+        long expectedSize = buffer.position();
+        for (int[] group : groups) {
+            expectedSize += (long) calcTableSize(group) * Character.BYTES;
+        }
+
+        return buffer.limit() == expectedSize;
+    }
+
+    /**
+     * This method builds the tables and stores them in the provided file.
+     *
+     * @param path the path of the file.
+     * @throws IOException if an I/O error occurs.
+     */
+    private void storeTables(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(calcHeaderSize());
+        header.putInt(HeuristicConstants.PDB_MAGIC).putInt(Dimension.BOARD_SIZE).putInt(groups.length);
+        for (int[] group : groups) {
+            header.putInt(group.length);
+            for (int tile : group) {
+                header.putInt(tile);
+            }
+        }
+
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header.flip());
+            for (int[] group : groups) {
+                char[] table = buildTable(group);
+                ByteBuffer tableBuffer = ByteBuffer.allocate(table.length * Character.BYTES);
+                tableBuffer.asCharBuffer().put(table);
+                writeFully(channel, tableBuffer);
+            }
+        }
+
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * This method writes the remaining bytes of the provided buffer to the provided channel.
+     *
+     * @param channel the channel to write to.
+     * @param buffer  the buffer to write.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * This method builds the table of the provided group by a backward uniform-cost search from the target.
+     * A search state holds the cells of the pieces of the group and the cell of the empty piece. Moving any other piece
+     * costs nothing, and the resulting table keeps the minimal cost over all cells of the empty piece.
+     * Since the costs are small integers, the open list is a circular array of buckets indexed by cost.
+     *
+     * @param group the tile ids of the group.
+     * @return The built table.
+     */
+    private static char[] buildTable(int[] group) {
+        int boardSize = Dimension.BOARD_SIZE;
+        int tableSize = calcTableSize(group);
+        int[] weights = new int[group.length];
+        int[] costs = new int[group.length];
+        int maxCost = 0;
+        int targetRank = 0;
+        for (int i = 0, weight = 1; i < group.length; i++, weight *= boardSize) {
+            weights[i] = weight;
+            costs[i] = InfrastructureService.toPiece(group[i]).color().cost;
+            maxCost = Math.max(maxCost, costs[i]);
+            targetRank += group[i] * weight;
+        }
+
+        char[] distances = new char[tableSize * boardSize];
+        Arrays.fill(distances, UNREACHABLE);
+        IntStack[] buckets = new IntStack[maxCost + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new IntStack();
+        }
+
+        int start = targetRank * boardSize + InfrastructureService.EMPTY_TILE;
+        distances[start] = 0;
+        buckets[0].push(start);
+        long numQueued = 1;
+        int[] occupants = new int[boardSize];
+        Arrays.fill(occupants, -1);
+        for (int distance = 0; numQueued > 0 && distance < UNREACHABLE; distance++) {
+            IntStack bucket = buckets[distance % buckets.length];
+            while (!bucket.isEmpty()) {
+                int state = bucket.pop();
+                numQueued--;
+                if (distances[state] != distance) {
+                    continue;
+                }
+
+                int rank = state / boardSize;
+                int emptyPieceIndex = state % boardSize;
+                for (int i = 0, remainder = rank; i < group.length; i++, remainder /= boardSize) {
+                    occupants[remainder % boardSize] = i;
+                }
+
+                for (Move move : SearchService.getMoves(emptyPieceIndex)) {
+                    int nextEmptyPieceIndex = move.nextEmptyPieceIndex();
+                    int i = occupants[nextEmptyPieceIndex];
+                    int nextRank = i < 0 ? rank : rank + (emptyPieceIndex - nextEmptyPieceIndex) * weights[i];
+                    int nextDistance = distance + (i < 0 ? 0 : costs[i]);
+                    int nextState = nextRank * boardSize + nextEmptyPieceIndex;
+                    if (nextDistance < distances[nextState]) {
+                        distances[nextState] = (char) nextDistance;
+                        buckets[nextDistance % buckets.length].push(nextState);
+                        numQueued++;
+                    }
+                }
+
+                for (int i = 0, remainder = rank; i < group.length; i++, remainder /= boardSize) {
+                    occupants[remainder % boardSize] = -1;
+                }
+            }
+        }
+
+        char[] table = new char[tableSize];
+        for (int rank = 0; rank < tableSize; rank++) {
+            char min = UNREACHABLE;
+            for (int emptyPieceIndex = 0; emptyPieceIndex < boardSize; emptyPieceIndex++) {
+                min = (char) Math.min(min, distances[rank * boardSize + emptyPieceIndex]);
+            }
+
+            table[rank] = min;
+        }
+
+        return table;
+    }
+
+    /**
+     * This method calculates the number of entries in the table of the provided group.
+     *
+     * @param group the tile ids of the group.
+     * @return The number of entries.
+     */
+    private static int calcTableSize(int[] group) {
+        return (int) Math.pow(Dimension.BOARD_SIZE, group.length);
+    }
+
+    /**
+     * This method calculates the number of bytes in the header of the file.
+     *
+     * @return The number of bytes in the header.
+     */
+    private int calcHeaderSize() {
+        int numInts = 3 + groups.length;
+        for (int[] group : groups) {
+            numInts += group.length;
+        }
+
+        return numInts * Integer.BYTES;
+    }
+
+    /**
+     * This method calculates the rank of the provided group on the provided board, namely the cells of its pieces in base
+     * BOARD_SIZE.
+     *
+     * @param board the tile ids of a configuration of the pieces.
+     * @param g     the index of the group.
+     * @return The rank of the group.
+     */
+    private int calcRank(byte[] board, int g) {
+        int rank = 0;
+        for (int i = 0; i < board.length; i++) {
+            int tile = board[i];
+            if (groupOfTile[tile] == g) {
+                rank += i * weightOfTile[tile];
+            }
+        }
+
+        return rank;
+    }
+
+    /**
+     * This method calculates the heuristic evaluation of the provided board.
+     *
+     * @param board the tile ids of a configuration of the pieces.
+     * @return The calculated heuristic evaluation.
+     */
+    @Override
+    public int h(byte[] board) {
+        int sum = 0;
+        for (int g = 0; g < groups.length; g++) {
+            sum += tables[g].get(calcRank(board, g));
+        }
+
+        return sum;
+    }
+
+    /**
+     * This method calculates the change in the heuristic evaluation caused by sliding a single piece into the empty space.
+     * Only the entry of the group of the sliding piece changes, and its rank shifts by the weight of the piece.
+     *
+     * @param board the tile ids of the configuration before the move.
+     * @param from  the index the piece slides from.
+     * @param to    the index the piece slides to, namely the index of the empty piece.
+     * @return The change in the heuristic evaluation.
+     */
+    @Override
+    public int calcHDelta(byte[] board, int from, int to) {
+        int tile = board[from];
+        int g = groupOfTile[tile];
+        if (g < 0) {
+            return 0;
+        }
+
+        int rank = calcRank(board, g);
+        int nextRank = rank + (to - from) * weightOfTile[tile];
+        return tables[g].get(nextRank) - tables[g].get(rank);
+    }
+}
@@ -0,0 +1,117 @@
+package infrastructure;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * This class represents a priority queue of informed nodes, bucketed by their integer f values.
+ * Each f bucket is further split into sub-buckets by h value, so ties are broken in favor of lower h, namely deeper nodes.
+ * Within a sub-bucket, the most recently added node is removed first.
+ *
+ * @param <T> the type of the queued nodes.
+ * @author Yahav Karpel
+ */
+public class BucketQueue<T extends InformedNode> {
+
+    private static final int DEFAULT_CAPACITY = 1 << 6;
+
+    private final List<List<ArrayDeque<T>>> buckets = new ArrayList<>();
+    private int[] bucketSizes = new int[DEFAULT_CAPACITY];
+    private int[] minHs = new int[DEFAULT_CAPACITY];
+    private int minF = Integer.MAX_VALUE;
+    private int size;
+
+    /**
+     * This method adds the provided node to the queue in constant time.
+     *
+     * @param node the node to add.
+     */
+    public void add(T node) {
+        int f = node.getF();
+        int h = node.getH();
+        ensureCapacity(f);
+        List<ArrayDeque<T>> bucket = buckets.get(f);
+        while (bucket.size() <= h) {
+            bucket.add(null);
+        }
+
+        ArrayDeque<T> subBucket = bucket.get(h);
+        if (subBucket == null) {
+            subBucket = new ArrayDeque<>();
+            bucket.set(h, subBucket);
+        }
+
+        subBucket.push(node);
+        if (bucketSizes[f]++ == 0 || h < minHs[f]) {
+            minHs[f] = h;
+        }
+
+        minF = Math.min(minF, f);
+        size++;
+    }
+
+    /**
+     * This method ensures there is a bucket for the provided f value.
+     *
+     * @param f the f value.
+     */
+    private void ensureCapacity(int f) {
+        while (buckets.size() <= f) {
+            buckets.add(new ArrayList<>());
+        }
+
+        if (bucketSizes.length <= f) {
+            int capacity = Math.max(bucketSizes.length << 1, f + 1);
+            bucketSizes = Arrays.copyOf(bucketSizes, capacity);
+            minHs = Arrays.copyOf(minHs, capacity);
+        }
+    }
+
+    /**
+     * This method removes the node with the lowest f value, breaking ties by the lowest h value.
+     *
+     * @return The removed node.
+     * @throws NoSuchElementException if the queue is empty.
+     */
+    public T remove() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        while (bucketSizes[minF] == 0) {
+            minF++;
+        }
+
+        List<ArrayDeque<T>> bucket = buckets.get(minF);
+        int h = minHs[minF];
+        while (bucket.get(h) == null || bucket.get(h).isEmpty()) {
+            h++;
+        }
+
+        minHs[minF] = h;
+        bucketSizes[minF]--;
+        size--;
+        return bucket.get(h).pop();
+    }
+
+    /**
+     * This method returns the number of queued nodes.
+     *
+     * @return The number of queued nodes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * This method checks if the queue is empty.
+     *
+     * @return true if the queue is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
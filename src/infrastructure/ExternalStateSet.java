@@ -0,0 +1,359 @@
+package infrastructure;
+
+import component.Dimension;
+import component.GeneratingOperator;
+import constants.SearchConstants;
+import exception.ExternalMemoryException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class represents a set of states kept on disk for external-memory search.
+ * The states are stored as packed board records, each followed by the generating operator of the state, and are
+ * split into partition files by the hash of their keys. Records are appended without checking for duplicates, which
+ * are removed later, one partition at a time, so only a single partition has to fit in memory.
+ *
+ * @author Yahav Karpel
+ */
+public class ExternalStateSet {
+
+    private static final GeneratingOperator[] generatingOperators = GeneratingOperator.values();
+    private static final int NO_GENERATING_OPERATOR = -1;
+    // two tiles are packed into each byte if every tile id fits into four bits
+    private static final boolean IS_NIBBLE_PACKED = Dimension.BOARD_SIZE <= 16;
+    private static final int BOARD_RECORD_SIZE = IS_NIBBLE_PACKED ? (Dimension.BOARD_SIZE + 1) / 2 : Dimension.BOARD_SIZE;
+    private static final int RECORD_SIZE = BOARD_RECORD_SIZE + 1;
+
+    private final Path[] partitions;
+    private final ByteBuffer[] buffers;
+    private long size;
+
+    /**
+     * This method constructs an empty set whose partition files are created in the provided directory.
+     *
+     * @param directory     the directory of the partition files.
+     * @param name          the name of the set, unique within the directory.
+     * @param numPartitions the number of partition files.
+     * @throws ExternalMemoryException if the partition files cannot be created.
+     */
+    public ExternalStateSet(Path directory, String name, int numPartitions) {
+        partitions = new Path[numPartitions];
+        buffers = new ByteBuffer[numPartitions];
+        try {
+            for (int i = 0; i < numPartitions; i++) {
+                partitions[i] = directory.resolve(name + "-" + i);
+                Files.write(partitions[i], new byte[0]);
+            }
+        } catch (IOException e) {
+            throw new ExternalMemoryException(e);
+        }
+    }
+
+    /**
+     * This method appends the provided state to the set, regardless of whether it is already contained.
+     *
+     * @param board              the tile ids of the state.
+     * @param generatingOperator the generating operator used to reach the state, or null for the root.
+     * @throws ExternalMemoryException if the record cannot be written.
+     */
+    public void add(byte[] board, GeneratingOperator generatingOperator) {
+        int partition = findPartition(board);
+        ByteBuffer buffer = buffers[partition];
+        if (buffer == null) {
+            buffer = allocateBuffer();
+            buffers[partition] = buffer;
+        } else if (buffer.remaining() < RECORD_SIZE) {
+            flush(partition);
+        }
+
+        encodeBoard(board, buffer);
+        buffer.put((byte) (generatingOperator == null ? NO_GENERATING_OPERATOR : generatingOperator.ordinal()));
+        size++;
+    }
+
+    /**
+     * This method appends the buffered records of the provided partition to its file.
+     * The file is opened only for the duration of the write, so many sets may be filled at once without holding open files.
+     *
+     * @param partition the index of the partition.
+     * @throws ExternalMemoryException if the records cannot be written.
+     */
+    private void flush(int partition) {
+        ByteBuffer buffer = buffers[partition];
+        try (FileChannel channel = FileChannel.open(partitions[partition], StandardOpenOption.APPEND)) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            buffer.clear();
+        } catch (IOException e) {
+            throw new ExternalMemoryException(e);
+        }
+    }
+
+    /**
+     * This method writes the buffered records of the set to its files and releases its write buffers.
+     * States may still be added to the set afterwards.
+     *
+     * @throws ExternalMemoryException if the records cannot be written.
+     */
+    public void flush() {
+        for (int i = 0; i < partitions.length; i++) {
+            if (buffers[i] != null) {
+                flush(i);
+                buffers[i] = null;
+            }
+        }
+    }
+
+    /**
+     * This method removes the duplicates within the set, together with the states contained in any of the provided sets.
+     * Each partition is read into memory, filtered by streaming the same partition of the provided sets, and written back.
+     * The first record of each state is kept.
+     *
+     * @param visitedSets the closed sets whose states are removed, which must have the same number of partitions.
+     * @throws ExternalMemoryException if a partition file cannot be read or written.
+     */
+    public void removeDuplicates(List<ExternalStateSet> visitedSets) {
+        flush();
+        size = 0;
+        for (int i = 0; i < partitions.length; i++) {
+            Map<StateKey, byte[]> records = new LinkedHashMap<>();
+            readPartition(partitions[i], (board, record) -> {
+                records.putIfAbsent(new StateKey(board), record);
+                return true;
+            });
+            for (ExternalStateSet visitedSet : visitedSets) {
+                readPartition(visitedSet.partitions[i], (board, record) -> {
+                    records.remove(new StateKey(board));
+                    return !records.isEmpty();
+                });
+            }
+
+            writePartition(partitions[i], records.values());
+            size += records.size();
+        }
+    }
+
+    /**
+     * This method streams the states of the set to the provided consumer, until the consumer asks to stop.
+     *
+     * @param consumer the consumer of the states.
+     * @return true if all states were consumed, false if the consumer asked to stop.
+     * @throws ExternalMemoryException if a partition file cannot be read.
+     */
+    public boolean forEach(StateConsumer consumer) {
+        flush();
+        for (Path partition : partitions) {
+            boolean isCompleted = readPartition(partition, (board, record) -> {
+                int generatingOperator = record[BOARD_RECORD_SIZE];
+                return consumer.accept(board, generatingOperator == NO_GENERATING_OPERATOR ? null : generatingOperators[generatingOperator]);
+            });
+            if (!isCompleted) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * This method checks if the set contains the provided state by streaming its partition.
+     *
+     * @param board the tile ids of the state.
+     * @return true if the set contains the state, false otherwise.
+     * @throws ExternalMemoryException if the partition file cannot be read.
+     */
+    public boolean contains(byte[] board) {
+        flush();
+        StateKey key = new StateKey(board);
+        return !readPartition(partitions[findPartition(board)], (partitionBoard, record) -> !key.equals(new StateKey(partitionBoard)));
+    }
+
+    /**
+     * This method returns the number of records of the set, which is the number of states once duplicates are removed.
+     *
+     * @return The number of records.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * This method checks if the set is empty.
+     *
+     * @return true if the set is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * This method deletes the partition files of the set.
+     *
+     * @throws ExternalMemoryException if a partition file cannot be deleted.
+     */
+    public void delete() {
+        flush();
+        try {
+            for (Path partition : partitions) {
+                Files.deleteIfExists(partition);
+            }
+        } catch (IOException e) {
+            throw new ExternalMemoryException(e);
+        }
+    }
+
+    /**
+     * This method finds the partition of the provided state.
+     *
+     * @param board the tile ids of the state.
+     * @return The index of the partition.
+     */
+    private int findPartition(byte[] board) {
+        // the high bits are used, since the low bits pick the slot of the in-memory table of the partition
+        return (int) (((new StateKey(board).hash64() >>> 32) * partitions.length) >>> 32);
+    }
+
+    /**
+     * This method streams the records of the provided partition file to the provided reader, until the reader asks to stop.
+     *
+     * @param partition the partition file.
+     * @param reader    the reader of the records.
+     * @return true if all records were read, false if the reader asked to stop.
+     * @throws ExternalMemoryException if the partition file cannot be read.
+     */
+    private static boolean readPartition(Path partition, RecordReader reader) {
+        ByteBuffer buffer = allocateBuffer();
+        try (FileChannel channel = FileChannel.open(partition, StandardOpenOption.READ)) {
+            while (channel.read(buffer) > 0) {
+                buffer.flip();
+                while (buffer.remaining() >= RECORD_SIZE) {
+                    byte[] record = new byte[RECORD_SIZE];
+                    buffer.get(record);
+                    if (!reader.read(decodeBoard(record), record)) {
+                        return false;
+                    }
+                }
+
+                buffer.compact();
+            }
+        } catch (IOException e) {
+            throw new ExternalMemoryException(e);
+        }
+
+        return true;
+    }
+
+    /**
+     * This method overwrites the provided partition file with the provided records.
+     *
+     * @param partition the partition file.
+     * @param records   the records to write.
+     * @throws ExternalMemoryException if the partition file cannot be written.
+     */
+    private static void writePartition(Path partition, Iterable<byte[]> records) {
+        ByteBuffer buffer = allocateBuffer();
+        try (FileChannel channel = FileChannel.open(partition, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (byte[] record : records) {
+                if (buffer.remaining() < RECORD_SIZE) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+
+                    buffer.clear();
+                }
+
+                buffer.put(record);
+            }
+
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new ExternalMemoryException(e);
+        }
+    }
+
+    /**
+     * This method allocates an I/O buffer holding a whole number of records.
+     *
+     * @return The allocated buffer.
+     */
+    private static ByteBuffer allocateBuffer() {
+        return ByteBuffer.allocate(SearchConstants.EXTERNAL_BUFFER_SIZE - SearchConstants.EXTERNAL_BUFFER_SIZE % RECORD_SIZE);
+    }
+
+    /**
+     * This method packs the provided board into the provided buffer.
+     *
+     * @param board  the tile ids of the state.
+     * @param buffer the buffer to write into.
+     */
+    private static void encodeBoard(byte[] board, ByteBuffer buffer) {
+        if (!IS_NIBBLE_PACKED) {
+            buffer.put(board);
+            return;
+        }
+
+        for (int i = 0; i < board.length; i += 2) {
+            int high = board[i] << 4;
+            int low = i + 1 < board.length ? board[i + 1] : 0;
+            buffer.put((byte) (high | low));
+        }
+    }
+
+    /**
+     * This method unpacks the board of the provided record.
+     *
+     * @param record the record of the state.
+     * @return The tile ids of the state.
+     */
+    private static byte[] decodeBoard(byte[] record) {
+        byte[] board = new byte[Dimension.BOARD_SIZE];
+        if (!IS_NIBBLE_PACKED) {
+            System.arraycopy(record, 0, board, 0, board.length);
+            return board;
+        }
+
+        for (int i = 0; i < board.length; i++) {
+            int packed = record[i >> 1];
+            board[i] = (byte) ((i & 1) == 0 ? (packed >> 4) & 0xF : packed & 0xF);
+        }
+
+        return board;
+    }
+
+    /**
+     * This interface represents a consumer of the states of a set.
+     */
+    @FunctionalInterface
+    public interface StateConsumer {
+
+        /**
+         * This method consumes a single state.
+         *
+         * @param board              the tile ids of the state.
+         * @param generatingOperator the generating operator used to reach the state, or null for the root.
+         * @return true to continue with the next state, false to stop.
+         */
+        boolean accept(byte[] board, GeneratingOperator generatingOperator);
+    }
+
+    @FunctionalInterface
+    private interface RecordReader {
+
+        boolean read(byte[] board, byte[] record);
+    }
+}
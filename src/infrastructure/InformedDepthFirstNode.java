@@ -1,6 +1,9 @@
 package infrastructure;
 
 import component.GeneratingOperator;
+import component.Piece;
+
+import java.util.List;
 
 /**
  * This class represents a node in the search tree with additional information for informed DFS algorithms.
@@ -18,6 +21,15 @@ public class InformedDepthFirstNode extends InformedNode {
         super();
     }
 
+    /**
+     * This method constructs the node of the provided input board.
+     *
+     * @param inputBoard a configuration of the pieces.
+     */
+    public InformedDepthFirstNode(List<Piece> inputBoard) {
+        super(inputBoard);
+    }
+
     /**
      * This method constructs a new node based on the specified attributes.
      *
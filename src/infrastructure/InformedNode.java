@@ -1,8 +1,11 @@
 package infrastructure;
 
 import component.GeneratingOperator;
+import component.Piece;
 import service.InfrastructureService;
 
+import java.util.List;
+
 /**
  * This class represents a node in the search tree with additional information for informed search algorithms.
  *
@@ -10,6 +13,7 @@ import service.InfrastructureService;
  */
 public abstract class InformedNode extends Node implements Comparable<InformedNode> {
 
+    private int h;
     private int f;
 
     /**
@@ -17,6 +21,17 @@ public abstract class InformedNode extends Node implements Comparable<InformedNo
      */
     protected InformedNode() {
         super();
+        setH(InfrastructureService.h(getBoard()));
+    }
+
+    /**
+     * This method constructs the node of the provided input board.
+     *
+     * @param inputBoard a configuration of the pieces.
+     */
+    protected InformedNode(List<Piece> inputBoard) {
+        super(inputBoard);
+        setH(InfrastructureService.h(getBoard()));
     }
 
     /**
@@ -27,6 +42,34 @@ public abstract class InformedNode extends Node implements Comparable<InformedNo
      */
     protected InformedNode(Node parent, GeneratingOperator generatingOperator) {
         super(parent, generatingOperator);
+        setH(parent instanceof InformedNode informedParent ? informedParent.h : InfrastructureService.h(getBoard()));
+    }
+
+    /**
+     * This method returns the h value of the node.
+     *
+     * @return The h value.
+     */
+    public int getH() {
+        return h;
+    }
+
+    /**
+     * This method sets the h value of the node.
+     *
+     * @param h the new h value.
+     */
+    private void setH(int h) {
+        this.h = h;
+    }
+
+    /**
+     * This method updates the h value of the node by the change caused by a single move.
+     *
+     * @param hDelta the change in the h value.
+     */
+    public void updateH(int hDelta) {
+        setH(h + hDelta);
     }
 
     /**
@@ -48,19 +91,10 @@ public abstract class InformedNode extends Node implements Comparable<InformedNo
     }
 
     /**
-     * This method calculates the f value of the node.
-     *
-     * @return The calculated f value.
-     */
-    public int calcF() {
-        return getWeight() + InfrastructureService.h(getBoard());
-    }
-
-    /**
-     * This method updates the f value of the node.
+     * This method updates the f value of the node based on its weight and incrementally maintained h value.
      */
     public void updateF() {
-        setF(calcF());
+        setF(getWeight() + h);
     }
 
     /**
@@ -0,0 +1,45 @@
+package infrastructure;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a growable stack of primitive integers, used as a bucket of the open lists of table builders.
+ *
+ * @author Yahav Karpel
+ */
+public class IntStack {
+
+    private int[] elements = new int[1 << 4];
+    private int size;
+
+    /**
+     * This method pushes the provided element onto the stack.
+     *
+     * @param element the element to push.
+     */
+    public void push(int element) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size << 1);
+        }
+
+        elements[size++] = element;
+    }
+
+    /**
+     * This method pops the top element of the stack.
+     *
+     * @return The popped element.
+     */
+    public int pop() {
+        return elements[--size];
+    }
+
+    /**
+     * This method checks if the stack is empty.
+     *
+     * @return true if the stack is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -1,8 +1,12 @@
 package infrastructure;
 
 import component.GeneratingOperator;
+import component.Piece;
 import constants.PunctuationConstants;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 /**
  * This class represents a node in the search tree.
  *
@@ -10,8 +14,15 @@ import constants.PunctuationConstants;
  */
 public abstract class Node extends State {
 
-    // static counter to keep track of the number of nodes created
-    private static long numNodes = 0;
+    // per-thread counters to keep track of the number of nodes created, aggregated on demand per search,
+    // where the counters of a search are inherited by the worker threads it starts
+    private static final InheritableThreadLocal<List<long[]>> numNodesCounters = new InheritableThreadLocal<>() {
+        @Override
+        protected List<long[]> initialValue() {
+            return new CopyOnWriteArrayList<>();
+        }
+    };
+    private static final ThreadLocal<long[]> numNodes = ThreadLocal.withInitial(Node::createNumNodesCounter);
 
     // instance variables
     private int weight = 0;
@@ -19,8 +30,8 @@ public abstract class Node extends State {
     private GeneratingOperator generatingOperator;
     private String edgeTagFromParent;
 
-    // unique identifier for each node
-    public final long id = numNodes++;
+    // identifier for each node, unique within the creating thread
+    public final long id = numNodes.get()[0]++;
 
     /**
      * This method constructs the input node.
@@ -30,6 +41,16 @@ public abstract class Node extends State {
         setEdgeTagFromParent(PunctuationConstants.EMPTY);
     }
 
+    /**
+     * This method constructs the node of the provided input board.
+     *
+     * @param inputBoard a configuration of the pieces.
+     */
+    protected Node(List<Piece> inputBoard) {
+        super(inputBoard);
+        setEdgeTagFromParent(PunctuationConstants.EMPTY);
+    }
+
     /**
      * This method constructs a new node based on the specified attributes.
      *
@@ -44,12 +65,47 @@ public abstract class Node extends State {
     }
 
     /**
-     * This method returns the number of nodes created.
+     * This method creates and registers the counter of the current thread.
+     *
+     * @return The created counter.
+     */
+    private static long[] createNumNodesCounter() {
+        long[] numNodesCounter = new long[1];
+        numNodesCounters.get().add(numNodesCounter);
+        return numNodesCounter;
+    }
+
+    /**
+     * This method starts counting the nodes of a new search on the current thread, from zero.
+     * Worker threads started afterwards by the current thread count their nodes toward the same search.
+     */
+    public static void resetNumNodes() {
+        numNodesCounters.set(new CopyOnWriteArrayList<>());
+        numNodes.remove();
+    }
+
+    /**
+     * This method returns the number of nodes created by all threads of the current search.
+     * The counts of other threads are accurate once their work is joined.
      *
      * @return The number of nodes created.
      */
     public static long getNumNodes() {
-        return numNodes;
+        long sum = 0;
+        for (long[] numNodesCounter : numNodesCounters.get()) {
+            sum += numNodesCounter[0];
+        }
+
+        return sum;
+    }
+
+    /**
+     * This method adds nodes that were generated without being created as node objects to the number of nodes created.
+     *
+     * @param numNodes the number of nodes to add.
+     */
+    public static void addNumNodes(long numNodes) {
+        Node.numNodes.get()[0] += numNodes;
     }
 
     /**
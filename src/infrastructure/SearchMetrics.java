@@ -0,0 +1,415 @@
+package infrastructure;
+
+import constants.SearchConstants;
+import event.SearchProgressEvent;
+import jdk.jfr.FlightRecorder;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * This class represents the metrics of a single search, from the number of nodes expanded to the time spent in each phase.
+ * Like the number of nodes created, the metrics are recorded per thread and aggregated on demand per search,
+ * where the recorders of a search are inherited by the worker threads it starts. A snapshot of the metrics
+ * of the current search is taken by the getMetrics method. While a flight recording is running, each recorder also commits
+ * a periodic progress event of its thread, which costs a single check every interval of expansions otherwise.
+ *
+ * @author Yahav Karpel
+ */
+public class SearchMetrics {
+
+    private static final InheritableThreadLocal<Scope> scopes = new InheritableThreadLocal<>() {
+        @Override
+        protected Scope initialValue() {
+            return new Scope();
+        }
+    };
+    private static final ThreadLocal<Recorder> recorders = ThreadLocal.withInitial(SearchMetrics::createRecorder);
+
+    private final long numGeneratedNodes;
+    private final long numExpandedNodes;
+    private final long numDuplicateNodes;
+    private final long numReopenedNodes;
+    private final long peakOpenSize;
+    private final long peakClosedSize;
+    private final SortedMap<Integer, Long> expansionsPerF;
+    private final long parseTime;
+    private final long setupTime;
+    private final long searchTime;
+    private final long outputTime;
+
+    /**
+     * This method constructs a snapshot of the metrics of the provided search.
+     *
+     * @param scope the recorders and phase timings of the search.
+     */
+    private SearchMetrics(Scope scope) {
+        long numExpandedNodes = 0;
+        long numDuplicateNodes = 0;
+        long numReopenedNodes = 0;
+        long peakOpenSize = 0;
+        long peakClosedSize = 0;
+        SortedMap<Integer, Long> expansionsPerF = new TreeMap<>();
+        for (Recorder recorder : scope.recorders) {
+            numExpandedNodes += recorder.numExpandedNodes;
+            numDuplicateNodes += recorder.numDuplicateNodes;
+            numReopenedNodes += recorder.numReopenedNodes;
+            peakOpenSize += recorder.peakOpenSize;
+            peakClosedSize += recorder.peakClosedSize;
+            for (int f = 0; f < recorder.expansionsPerF.length; f++) {
+                if (recorder.expansionsPerF[f] > 0) {
+                    expansionsPerF.merge(f, recorder.expansionsPerF[f], Long::sum);
+                }
+            }
+        }
+
+        this.numGeneratedNodes = Node.getNumNodes();
+        this.numExpandedNodes = numExpandedNodes;
+        this.numDuplicateNodes = numDuplicateNodes;
+        this.numReopenedNodes = numReopenedNodes;
+        this.peakOpenSize = peakOpenSize;
+        this.peakClosedSize = peakClosedSize;
+        this.expansionsPerF = Collections.unmodifiableSortedMap(expansionsPerF);
+        this.parseTime = scope.parseTime;
+        this.setupTime = scope.setupTime;
+        this.searchTime = scope.searchTime;
+        this.outputTime = scope.outputTime;
+    }
+
+    /**
+     * This method creates and registers the recorder of the current thread.
+     *
+     * @return The created recorder.
+     */
+    private static Recorder createRecorder() {
+        Recorder recorder = new Recorder();
+        scopes.get().recorders.add(recorder);
+        return recorder;
+    }
+
+    /**
+     * This method starts recording the metrics of a new search on the current thread, from zero.
+     * Worker threads started afterwards by the current thread record their metrics toward the same search.
+     * The number of nodes created is reset as well.
+     */
+    public static void reset() {
+        scopes.set(new Scope());
+        recorders.remove();
+        Node.resetNumNodes();
+    }
+
+    /**
+     * This method returns the recorder of the current thread. Searches fetch it once per thread and record through it,
+     * which keeps the recording off the thread-local lookup.
+     *
+     * @return The recorder of the current thread.
+     */
+    public static Recorder getRecorder() {
+        return recorders.get();
+    }
+
+    /**
+     * This method returns a snapshot of the metrics of the current search.
+     * The metrics of other threads are accurate once their work is joined.
+     *
+     * @return The snapshot of the metrics.
+     */
+    public static SearchMetrics getMetrics() {
+        return new SearchMetrics(scopes.get());
+    }
+
+    /**
+     * This method records the time spent parsing the input of the current search.
+     *
+     * @param parseTime the time in nanoseconds.
+     */
+    public static void recordParseTime(long parseTime) {
+        scopes.get().parseTime = parseTime;
+    }
+
+    /**
+     * This method records the time spent building the heuristic tables and the searcher of the current search.
+     *
+     * @param setupTime the time in nanoseconds.
+     */
+    public static void recordSetupTime(long setupTime) {
+        scopes.get().setupTime = setupTime;
+    }
+
+    /**
+     * This method records the time spent by the current search.
+     *
+     * @param searchTime the time in nanoseconds.
+     */
+    public static void recordSearchTime(long searchTime) {
+        scopes.get().searchTime = searchTime;
+    }
+
+    /**
+     * This method records the time spent printing the output of the current search.
+     *
+     * @param outputTime the time in nanoseconds.
+     */
+    public static void recordOutputTime(long outputTime) {
+        scopes.get().outputTime = outputTime;
+    }
+
+    /**
+     * This method returns the number of nodes generated.
+     *
+     * @return The number of nodes generated.
+     */
+    public long getNumGeneratedNodes() {
+        return numGeneratedNodes;
+    }
+
+    /**
+     * This method returns the number of nodes expanded.
+     *
+     * @return The number of nodes expanded.
+     */
+    public long getNumExpandedNodes() {
+        return numExpandedNodes;
+    }
+
+    /**
+     * This method returns the number of generated nodes pruned as duplicates of states already seen at no greater cost.
+     *
+     * @return The number of duplicate nodes.
+     */
+    public long getNumDuplicateNodes() {
+        return numDuplicateNodes;
+    }
+
+    /**
+     * This method returns the number of nodes of expanded states that were queued again at a lower cost.
+     *
+     * @return The number of reopened nodes.
+     */
+    public long getNumReopenedNodes() {
+        return numReopenedNodes;
+    }
+
+    /**
+     * This method returns the peak size of the open list, summed over the threads that keep their own.
+     *
+     * @return The peak size of the open list.
+     */
+    public long getPeakOpenSize() {
+        return peakOpenSize;
+    }
+
+    /**
+     * This method returns the peak size of the closed list, summed over the threads that keep their own.
+     *
+     * @return The peak size of the closed list.
+     */
+    public long getPeakClosedSize() {
+        return peakClosedSize;
+    }
+
+    /**
+     * This method returns the number of nodes expanded per f value, where uninformed searches use the g value.
+     *
+     * @return The number of nodes expanded per f value, in ascending order of the f values.
+     */
+    public SortedMap<Integer, Long> getExpansionsPerF() {
+        return expansionsPerF;
+    }
+
+    /**
+     * This method returns the time spent parsing the input.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getParseTime() {
+        return parseTime;
+    }
+
+    /**
+     * This method returns the time spent building the heuristic tables and the searcher.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getSetupTime() {
+        return setupTime;
+    }
+
+    /**
+     * This method returns the time spent searching.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getSearchTime() {
+        return searchTime;
+    }
+
+    /**
+     * This method returns the time spent printing the output.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getOutputTime() {
+        return outputTime;
+    }
+
+    /**
+     * This class represents the metrics recorded by a single thread of a search.
+     */
+    public static final class Recorder {
+
+        private static final int DEFAULT_CAPACITY = 1 << 6;
+        private static final int PROGRESS_EVENT_CHECK_MASK = SearchConstants.PROGRESS_EVENT_CHECK_INTERVAL - 1;
+
+        private long numExpandedNodes;
+        private long numDuplicateNodes;
+        private long numReopenedNodes;
+        private long peakOpenSize;
+        private long peakClosedSize;
+        private long[] expansionsPerF = new long[DEFAULT_CAPACITY];
+        // the current state of the thread, reported by the progress events
+        private long openSize;
+        private long closedSize;
+        private int maxF;
+        private int bound = -1;
+        private long lastProgressTime = System.nanoTime();
+        private long lastProgressExpansions;
+
+        private Recorder() {
+        }
+
+        /**
+         * This method records the expansion of a node.
+         *
+         * @param f the f value of the node, or its g value in uninformed searches.
+         */
+        public void recordExpansion(int f) {
+            numExpandedNodes++;
+            if (f >= expansionsPerF.length) {
+                expansionsPerF = Arrays.copyOf(expansionsPerF, Math.max(expansionsPerF.length << 1, f + 1));
+            }
+
+            expansionsPerF[f]++;
+            maxF = Math.max(maxF, f);
+            if ((numExpandedNodes & PROGRESS_EVENT_CHECK_MASK) == 0) {
+                commitProgressEvent();
+            }
+        }
+
+        /**
+         * This method records the expansion of nodes whose f values are not known, which are left out of the f histogram.
+         *
+         * @param numExpandedNodes the number of nodes expanded.
+         */
+        public void recordExpansions(long numExpandedNodes) {
+            this.numExpandedNodes += numExpandedNodes;
+            commitProgressEvent();
+        }
+
+        /**
+         * This method records a generated node pruned as a duplicate of a state already seen at no greater cost.
+         */
+        public void recordDuplicate() {
+            numDuplicateNodes++;
+        }
+
+        /**
+         * This method records generated nodes pruned as duplicates of states already seen at no greater cost.
+         *
+         * @param numDuplicateNodes the number of duplicate nodes.
+         */
+        public void recordDuplicates(long numDuplicateNodes) {
+            this.numDuplicateNodes += numDuplicateNodes;
+        }
+
+        /**
+         * This method records a node of an expanded state queued again at a lower cost.
+         */
+        public void recordReopening() {
+            numReopenedNodes++;
+        }
+
+        /**
+         * This method records the current size of the open list.
+         *
+         * @param size the number of nodes in the open list.
+         */
+        public void recordOpenSize(long size) {
+            openSize = size;
+            peakOpenSize = Math.max(peakOpenSize, size);
+        }
+
+        /**
+         * This method records the current size of the closed list.
+         *
+         * @param size the number of nodes in the closed list.
+         */
+        public void recordClosedSize(long size) {
+            closedSize = size;
+            peakClosedSize = Math.max(peakClosedSize, size);
+        }
+
+        /**
+         * This method records the current threshold of an iterative-deepening search, reported by the progress events
+         * instead of the highest f value expanded.
+         *
+         * @param bound the current threshold.
+         */
+        public void recordBound(int bound) {
+            this.bound = bound;
+        }
+
+        /**
+         * This method returns the number of nodes expanded by the thread so far.
+         *
+         * @return The number of nodes expanded.
+         */
+        public long getNumExpandedNodes() {
+            return numExpandedNodes;
+        }
+
+        /**
+         * This method commits a progress event of the thread, if a flight recording is running and the period
+         * since the previous progress event has passed. The event classes are only loaded once the flight recorder
+         * is initialized, since loading them takes a noticeable part of a second otherwise.
+         */
+        private void commitProgressEvent() {
+            if (!FlightRecorder.isInitialized()) {
+                return;
+            }
+
+            SearchProgressEvent event = new SearchProgressEvent();
+            if (!event.shouldCommit()) {
+                return;
+            }
+
+            long now = System.nanoTime();
+            if (now - lastProgressTime >= SearchConstants.PROGRESS_EVENT_PERIOD) {
+                Runtime runtime = Runtime.getRuntime();
+                event.expansionRate = (numExpandedNodes - lastProgressExpansions) * 1e9 / (now - lastProgressTime);
+                event.numExpandedNodes = numExpandedNodes;
+                event.numGeneratedNodes = Node.getNumNodes();
+                event.bound = bound >= 0 ? bound : maxF;
+                event.openSize = openSize;
+                event.closedSize = closedSize;
+                event.heapUsed = runtime.totalMemory() - runtime.freeMemory();
+                event.commit();
+                lastProgressTime = now;
+                lastProgressExpansions = numExpandedNodes;
+            }
+        }
+    }
+
+    private static class Scope {
+
+        private final List<Recorder> recorders = new CopyOnWriteArrayList<>();
+        private long parseTime;
+        private long setupTime;
+        private long searchTime;
+        private long outputTime;
+    }
+}
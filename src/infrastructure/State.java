@@ -5,7 +5,6 @@ import component.Piece;
 import io.InputParser;
 import service.InfrastructureService;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -15,14 +14,24 @@ import java.util.List;
  */
 public abstract class State {
 
-    private List<Piece> board;
+    private byte[] board;
     private int emptyPieceIndex;
+    private StateKey key;
 
     /**
      * This method constructs the input state.
      */
     protected State() {
-        setBoard(InputParser.parseInputBoard());
+        this(InputParser.parseInputBoard());
+    }
+
+    /**
+     * This method constructs the state of the provided input board.
+     *
+     * @param inputBoard a configuration of the pieces.
+     */
+    protected State(List<Piece> inputBoard) {
+        setBoard(InfrastructureService.encodeBoard(inputBoard));
         setEmptyPieceIndex(InfrastructureService.findEmptyPieceIndex(board));
     }
 
@@ -32,16 +41,16 @@ public abstract class State {
      * @param state the state to copy.
      */
     protected State(State state) {
-        setBoard(new ArrayList<>(state.board));
+        setBoard(state.board.clone());
         setEmptyPieceIndex(state.emptyPieceIndex);
     }
 
     /**
-     * This method returns the board of the state.
+     * This method returns the board of the state as tile ids, where each tile id is the index of the target cell of its piece.
      *
      * @return The board.
      */
-    public List<Piece> getBoard() {
+    public byte[] getBoard() {
         return board;
     }
 
@@ -50,10 +59,20 @@ public abstract class State {
      *
      * @param board the new board.
      */
-    private void setBoard(List<Piece> board) {
+    private void setBoard(byte[] board) {
         this.board = board;
     }
 
+    /**
+     * This method returns the piece at the provided index.
+     *
+     * @param index the index on the board.
+     * @return The piece at the index.
+     */
+    public Piece getPiece(int index) {
+        return InfrastructureService.toPiece(board[index]);
+    }
+
     /**
      * This method returns the index of the empty piece.
      *
@@ -72,17 +91,39 @@ public abstract class State {
         this.emptyPieceIndex = emptyPieceIndex;
     }
 
+    /**
+     * This method slides the piece at the provided index into the empty space.
+     *
+     * @param nextEmptyPieceIndex the index of the next empty piece.
+     */
+    public void moveEmptyPiece(int nextEmptyPieceIndex) {
+        board[emptyPieceIndex] = board[nextEmptyPieceIndex];
+        board[nextEmptyPieceIndex] = (byte) InfrastructureService.EMPTY_TILE;
+        setEmptyPieceIndex(nextEmptyPieceIndex);
+        key = null;
+    }
+
+    /**
+     * This method returns the key of the state, which is computed once and cached.
+     *
+     * @return The key.
+     */
+    public StateKey getKey() {
+        if (key == null) {
+            key = new StateKey(board);
+        }
+
+        return key;
+    }
+
     /**
      * This method checks if the state represents the target pattern.
      *
      * @return true if the state represents the target pattern, false otherwise.
      */
     public boolean isTarget() {
-        List<String> targetRawBoard = InfrastructureService.targetRawBoard;
         for (int i = 0; i < Dimension.BOARD_SIZE; i++) {
-            String rawData = board.get(i).rawData();
-            String targetRawData = targetRawBoard.get(i);
-            if (!rawData.equals(targetRawData)) {
+            if (board[i] != i) {
                 return false;
             }
         }
@@ -97,6 +138,6 @@ public abstract class State {
      */
     @Override
     public String toString() {
-        return board.toString();
+        return InfrastructureService.decodeBoard(board).toString();
     }
 }
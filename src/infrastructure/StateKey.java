@@ -0,0 +1,120 @@
+package infrastructure;
+
+import component.Dimension;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a compact, value-based key of a configuration of the puzzle.
+ * Boards of up to 16 pieces are packed into a single long, one nibble per piece, while larger boards keep a copy of the tile ids.
+ *
+ * @author Yahav Karpel
+ */
+public final class StateKey {
+
+    private static final int MAX_PACKED_BOARD_SIZE = Long.SIZE / 4;
+
+    private final long packed;
+    private final byte[] tiles;
+    private final long hash;
+
+    /**
+     * This method constructs a new key based on the specified tile ids.
+     *
+     * @param board the tile ids of a configuration of the pieces.
+     */
+    public StateKey(byte[] board) {
+        if (isPackable()) {
+            packed = pack(board);
+            tiles = null;
+            hash = mix(packed);
+        } else {
+            packed = 0;
+            tiles = board.clone();
+            hash = mix(Arrays.hashCode(tiles));
+        }
+    }
+
+    /**
+     * This method checks if boards of the current dimensions fit into a single long.
+     *
+     * @return true if boards of the current dimensions fit into a single long, false otherwise.
+     */
+    public static boolean isPackable() {
+        return Dimension.BOARD_SIZE <= MAX_PACKED_BOARD_SIZE;
+    }
+
+    /**
+     * This method packs the provided tile ids into a single long, one nibble per piece.
+     *
+     * @param board the tile ids of a configuration of the pieces.
+     * @return The packed tile ids.
+     */
+    public static long pack(byte[] board) {
+        long packed = 0;
+        for (int i = 0; i < board.length; i++) {
+            packed |= (long) board[i] << (i << 2);
+        }
+
+        return packed;
+    }
+
+    /**
+     * This method scrambles the bits of the provided value (the finalizer of SplitMix64).
+     *
+     * @param value the value to scramble.
+     * @return The scrambled value.
+     */
+    public static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * This method returns the packed tile ids, or zero if the board does not fit into a single long.
+     *
+     * @return The packed tile ids.
+     */
+    public long getPacked() {
+        return packed;
+    }
+
+    /**
+     * This method returns the 64-bit hash of the key.
+     *
+     * @return The 64-bit hash.
+     */
+    public long hash64() {
+        return hash;
+    }
+
+    /**
+     * This method checks if the key is equal to the provided object.
+     *
+     * @param object the object to compare with.
+     * @return true if the object is a key of the same configuration, false otherwise.
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+
+        if (!(object instanceof StateKey stateKey)) {
+            return false;
+        }
+
+        return hash == stateKey.hash && packed == stateKey.packed && Arrays.equals(tiles, stateKey.tiles);
+    }
+
+    /**
+     * This method returns the hash code of the key.
+     *
+     * @return The hash code.
+     */
+    @Override
+    public int hashCode() {
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
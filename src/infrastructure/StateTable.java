@@ -0,0 +1,255 @@
+package infrastructure;
+
+/**
+ * This class represents an open-addressing hash table of states, keyed by the 64-bit hash of their keys.
+ * Hashes and states are stored inline in two parallel arrays and collisions are resolved by linear probing.
+ * For packed keys the hash is a bijection of the board, so a matching hash is a matching state.
+ *
+ * @param <T> the type of the stored states.
+ * @author Yahav Karpel
+ */
+public class StateTable<T extends State> {
+
+    private static final int DEFAULT_CAPACITY = 1 << 10;
+    private static final double MAX_LOAD_FACTOR = 0.5;
+
+    private long[] hashes;
+    private Object[] states;
+    private int mask;
+    private int size;
+
+    // probe statistics
+    private long numLookups;
+    private long numProbes;
+    private int maxProbeLength;
+
+    /**
+     * This method constructs an empty table with a default capacity.
+     */
+    public StateTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * This method constructs an empty table able to hold the specified number of states without resizing.
+     *
+     * @param expectedSize the expected number of states.
+     */
+    public StateTable(int expectedSize) {
+        int capacity = Integer.highestOneBit((int) Math.max(expectedSize / MAX_LOAD_FACTOR, 2) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * This method allocates empty arrays of the provided capacity.
+     *
+     * @param capacity the new capacity, which must be a power of two.
+     */
+    private void allocate(int capacity) {
+        hashes = new long[capacity];
+        states = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * This method finds the slot of the provided key, or the empty slot where it should be inserted.
+     *
+     * @param key the key to look up.
+     * @return The slot of the key.
+     */
+    private int probe(StateKey key) {
+        long hash = key.hash64();
+        int slot = (int) hash & mask;
+        int probeLength = 1;
+        while (states[slot] != null && !matches(slot, hash, key)) {
+            slot = (slot + 1) & mask;
+            probeLength++;
+        }
+
+        numLookups++;
+        numProbes += probeLength;
+        maxProbeLength = Math.max(maxProbeLength, probeLength);
+        return slot;
+    }
+
+    /**
+     * This method checks if the provided slot holds the provided key.
+     *
+     * @param slot the slot to check.
+     * @param hash the 64-bit hash of the key.
+     * @param key  the key to check.
+     * @return true if the slot holds the key, false otherwise.
+     */
+    private boolean matches(int slot, long hash, StateKey key) {
+        return hashes[slot] == hash && (StateKey.isPackable() || ((State) states[slot]).getKey().equals(key));
+    }
+
+    /**
+     * This method returns the state stored under the provided key.
+     *
+     * @param key the key to look up.
+     * @return The stored state, or null if the key is absent.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(StateKey key) {
+        return (T) states[probe(key)];
+    }
+
+    /**
+     * This method checks if a state is stored under the provided key.
+     *
+     * @param key the key to look up.
+     * @return true if a state is stored under the key, false otherwise.
+     */
+    public boolean contains(StateKey key) {
+        return states[probe(key)] != null;
+    }
+
+    /**
+     * This method stores the provided state under its key, unless another state is already stored there.
+     *
+     * @param state the state to store.
+     * @return The state already stored under the key, or null if the provided state was inserted.
+     */
+    @SuppressWarnings("unchecked")
+    public T putIfAbsent(T state) {
+        StateKey key = state.getKey();
+        int slot = probe(key);
+        if (states[slot] != null) {
+            return (T) states[slot];
+        }
+
+        insert(slot, key.hash64(), state);
+        return null;
+    }
+
+    /**
+     * This method stores the provided state under its key, replacing any state already stored there.
+     *
+     * @param state the state to store.
+     */
+    public void put(T state) {
+        StateKey key = state.getKey();
+        int slot = probe(key);
+        if (states[slot] != null) {
+            states[slot] = state;
+        } else {
+            insert(slot, key.hash64(), state);
+        }
+    }
+
+    /**
+     * This method inserts the provided state into the provided empty slot and resizes the table if needed.
+     *
+     * @param slot  the empty slot.
+     * @param hash  the 64-bit hash of the key of the state.
+     * @param state the state to insert.
+     */
+    private void insert(int slot, long hash, T state) {
+        hashes[slot] = hash;
+        states[slot] = state;
+        if (++size > MAX_LOAD_FACTOR * states.length) {
+            resize();
+        }
+    }
+
+    /**
+     * This method removes the state stored under the provided key.
+     * The following entries of the probe sequence are shifted back, so no tombstones are left behind.
+     *
+     * @param key the key to remove.
+     * @return The removed state, or null if the key is absent.
+     */
+    @SuppressWarnings("unchecked")
+    public T remove(StateKey key) {
+        int slot = probe(key);
+        T state = (T) states[slot];
+        if (state == null) {
+            return null;
+        }
+
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (states[next] == null) {
+                break;
+            }
+
+            int home = (int) hashes[next] & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                hashes[slot] = hashes[next];
+                states[slot] = states[next];
+                slot = next;
+            }
+        }
+
+        states[slot] = null;
+        size--;
+        return state;
+    }
+
+    /**
+     * This method doubles the capacity of the table and reinserts all stored states.
+     */
+    private void resize() {
+        long[] oldHashes = hashes;
+        Object[] oldStates = states;
+        allocate(oldStates.length << 1);
+        for (int i = 0; i < oldStates.length; i++) {
+            if (oldStates[i] != null) {
+                int slot = (int) oldHashes[i] & mask;
+                while (states[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+
+                hashes[slot] = oldHashes[i];
+                states[slot] = oldStates[i];
+            }
+        }
+    }
+
+    /**
+     * This method returns the number of stored states.
+     *
+     * @return The number of stored states.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * This method checks if the table is empty.
+     *
+     * @return true if the table is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * This method returns the current load factor of the table.
+     *
+     * @return The ratio between the number of stored states and the capacity.
+     */
+    public double getLoadFactor() {
+        return (double) size / states.length;
+    }
+
+    /**
+     * This method returns the average number of slots inspected per lookup.
+     *
+     * @return The average probe length, or zero if no lookup was performed.
+     */
+    public double getAverageProbeLength() {
+        return numLookups == 0 ? 0 : (double) numProbes / numLookups;
+    }
+
+    /**
+     * This method returns the maximal number of slots inspected by a single lookup.
+     *
+     * @return The maximal probe length.
+     */
+    public int getMaxProbeLength() {
+        return maxProbeLength;
+    }
+}
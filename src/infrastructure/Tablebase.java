@@ -0,0 +1,364 @@
+package infrastructure;
+
+import component.Color;
+import component.Dimension;
+import component.Move;
+import constants.SearchConstants;
+import exception.TablebaseException;
+import exception.UnsupportedTablebaseSizeException;
+import service.InfrastructureService;
+import service.SearchService;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * This class represents a tablebase holding the optimal cost to the target of every state of a small puzzle.
+ * Gray pieces never move, so a state is the permutation of the movable tiles over the movable cells, and each permutation
+ * is ranked by its Lehmer code into a perfect hash. The table is built once by a backward uniform-cost search from the
+ * target, which is also rank zero, using the colored costs. Since the costs are small integers, the open list is a circular
+ * array of buckets indexed by cost. The table is stored in a file keyed by the dimensions and the gray and red pieces,
+ * together with a report of the diameter and the cost distribution of the state space, and later runs map the file
+ * into memory instead of building the table again.
+ *
+ * @author Yahav Karpel
+ */
+public class Tablebase {
+
+    private static final char UNREACHABLE = Character.MAX_VALUE;
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+
+    // the cells not held by gray pieces, which are also the tile ids of the movable pieces
+    private final int[] movableCells;
+    // the index of each movable tile id within the movable cells, or -1 for gray pieces
+    private final int[] movableIndices = new int[Dimension.BOARD_SIZE];
+    private final int tableSize;
+    private final CharBuffer table;
+
+    /**
+     * This method constructs the tablebase, loading its table from the file system or building it if needed.
+     *
+     * @throws UnsupportedTablebaseSizeException if the state space of the puzzle is too large.
+     */
+    public Tablebase() {
+        movableCells = createMovableCells();
+        Arrays.fill(movableIndices, -1);
+        for (int i = 0; i < movableCells.length; i++) {
+            movableIndices[movableCells[i]] = i;
+        }
+
+        long numStates = 1;
+        for (int i = 2; i <= movableCells.length; i++) {
+            numStates *= i;
+            if (numStates > SearchConstants.MAX_TABLEBASE_STATES) {
+                throw new UnsupportedTablebaseSizeException(movableCells.length);
+            }
+        }
+
+        tableSize = (int) numStates;
+        table = loadTable(createPath(SearchConstants.TABLEBASE_FILE_EXTENSION));
+    }
+
+    /**
+     * This method creates the list of the cells not held by gray pieces.
+     *
+     * @return The movable cells in increasing order.
+     */
+    private static int[] createMovableCells() {
+        int[] movableCells = new int[Dimension.BOARD_SIZE];
+        int numMovableCells = 0;
+        for (int tile = 0; tile < Dimension.BOARD_SIZE; tile++) {
+            if (InfrastructureService.toPiece(tile).isNotFixedOnBoard()) {
+                movableCells[numMovableCells++] = tile;
+            }
+        }
+
+        return Arrays.copyOf(movableCells, numMovableCells);
+    }
+
+    /**
+     * This method creates the path of a file of the tablebase, keyed by the dimensions and the gray and red pieces.
+     *
+     * @param extension the extension of the file.
+     * @return The path of the file.
+     */
+    private static Path createPath(String extension) {
+        String directory = System.getProperty(SearchConstants.TABLEBASE_DIRECTORY_PROPERTY, SearchConstants.DEFAULT_TABLEBASE_DIRECTORY);
+        return Paths.get(directory, InfrastructureService.createLayoutName() + extension);
+    }
+
+    /**
+     * This method maps the table from the provided file, building and storing it first if the file is missing or stale.
+     *
+     * @param path the path of the file.
+     * @return The mapped table.
+     * @throws TablebaseException if an IOException occurs while storing or loading the table.
+     */
+    private CharBuffer loadTable(Path path) {
+        try {
+            CharBuffer table = mapTable(path);
+            if (table == null) {
+                char[] costs = buildTable();
+                storeTable(path, costs);
+                storeReport(createPath(SearchConstants.TABLEBASE_REPORT_FILE_SUFFIX), costs);
+                table = mapTable(path);
+            }
+
+            return table;
+        } catch (IOException e) {
+            throw new TablebaseException(e);
+        }
+    }
+
+    /**
+     * This method maps the table from the provided file into memory.
+     *
+     * @param path the path of the file.
+     * @return The mapped table, or null if the file is missing or does not match the puzzle.
+     * @throws IOException if an I/O error occurs.
+     */
+    private CharBuffer mapTable(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() != HEADER_SIZE + (long) tableSize * Character.BYTES
+                    || buffer.getInt() != SearchConstants.TABLEBASE_MAGIC
+                    || buffer.getInt() != Dimension.BOARD_SIZE
+                    || buffer.getInt() != movableCells.length) {
+                return null;
+            }
+
+            return buffer.slice().asCharBuffer();
+        }
+    }
+
+    /**
+     * This method stores the provided table in the provided file.
+     *
+     * @param path  the path of the file.
+     * @param costs the optimal cost of each rank.
+     * @throws IOException if an I/O error occurs.
+     */
+    private void storeTable(Path path, char[] costs) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + costs.length * Character.BYTES);
+        buffer.putInt(SearchConstants.TABLEBASE_MAGIC).putInt(Dimension.BOARD_SIZE).putInt(movableCells.length);
+        buffer.asCharBuffer().put(costs);
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer.rewind();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * This method stores the report of the provided table in the provided file, namely the number of reachable states,
+     * the diameter and the number of states of each optimal cost.
+     *
+     * @param path  the path of the file.
+     * @param costs the optimal cost of each rank.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void storeReport(Path path, char[] costs) throws IOException {
+        long[] costDistribution = calcCostDistribution(CharBuffer.wrap(costs));
+        try (PrintWriter reportFile = new PrintWriter(Files.newBufferedWriter(path))) {
+            reportFile.println(String.format("Reachable states: %d", Arrays.stream(costDistribution).sum()));
+            reportFile.println(String.format("Diameter: %d", costDistribution.length - 1));
+            reportFile.println("Cost distribution:");
+            for (int cost = 0; cost < costDistribution.length; cost++) {
+                if (costDistribution[cost] > 0) {
+                    reportFile.println(String.format("%d: %d", cost, costDistribution[cost]));
+                }
+            }
+        }
+    }
+
+    /**
+     * This method builds the table by a backward uniform-cost search from the target.
+     *
+     * @return The optimal cost of each rank.
+     */
+    private char[] buildTable() {
+        int maxCost = 0;
+        for (Color color : Color.values()) {
+            maxCost = Math.max(maxCost, color.cost);
+        }
+
+        char[] costs = new char[tableSize];
+        Arrays.fill(costs, UNREACHABLE);
+        IntStack[] buckets = new IntStack[maxCost + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new IntStack();
+        }
+
+        // the target is the identity permutation, whose rank is zero
+        costs[0] = 0;
+        buckets[0].push(0);
+        long numQueued = 1;
+        byte[] board = new byte[Dimension.BOARD_SIZE];
+        for (int cost = 0; numQueued > 0 && cost < UNREACHABLE; cost++) {
+            IntStack bucket = buckets[cost % buckets.length];
+            while (!bucket.isEmpty()) {
+                int rank = bucket.pop();
+                numQueued--;
+                if (costs[rank] != cost) {
+                    continue;
+                }
+
+                unrank(rank, board);
+                int emptyPieceIndex = InfrastructureService.findEmptyPieceIndex(board);
+                for (Move move : SearchService.getMoves(emptyPieceIndex)) {
+                    int nextEmptyPieceIndex = move.nextEmptyPieceIndex();
+                    int tile = board[nextEmptyPieceIndex];
+                    board[emptyPieceIndex] = (byte) tile;
+                    board[nextEmptyPieceIndex] = (byte) InfrastructureService.EMPTY_TILE;
+                    int nextRank = rank(board);
+                    board[nextEmptyPieceIndex] = (byte) tile;
+                    board[emptyPieceIndex] = (byte) InfrastructureService.EMPTY_TILE;
+                    int nextCost = cost + InfrastructureService.toPiece(tile).color().cost;
+                    if (nextCost < costs[nextRank]) {
+                        costs[nextRank] = (char) nextCost;
+                        buckets[nextCost % buckets.length].push(nextRank);
+                        numQueued++;
+                    }
+                }
+            }
+        }
+
+        return costs;
+    }
+
+    /**
+     * This method ranks the provided board by the Lehmer code of the permutation of its movable tiles.
+     *
+     * @param board the tile ids of a configuration of the pieces.
+     * @return The rank of the board.
+     */
+    private int rank(byte[] board) {
+        int numMovableCells = movableCells.length;
+        int[] permutation = new int[numMovableCells];
+        for (int i = 0; i < numMovableCells; i++) {
+            permutation[i] = movableIndices[board[movableCells[i]]];
+        }
+
+        int rank = 0;
+        for (int i = 0; i < numMovableCells; i++) {
+            int numSmaller = 0;
+            for (int j = i + 1; j < numMovableCells; j++) {
+                if (permutation[j] < permutation[i]) {
+                    numSmaller++;
+                }
+            }
+
+            rank = rank * (numMovableCells - i) + numSmaller;
+        }
+
+        return rank;
+    }
+
+    /**
+     * This method writes the board of the provided rank into the provided array.
+     *
+     * @param rank  the rank of the board.
+     * @param board the array to write the tile ids into.
+     */
+    private void unrank(int rank, byte[] board) {
+        int numMovableCells = movableCells.length;
+        int[] digits = new int[numMovableCells];
+        for (int i = numMovableCells - 1; i >= 0; i--) {
+            digits[i] = rank % (numMovableCells - i);
+            rank /= numMovableCells - i;
+        }
+
+        int[] available = movableCells.clone();
+        for (int i = 0; i < numMovableCells; i++) {
+            board[movableCells[i]] = (byte) available[digits[i]];
+            System.arraycopy(available, digits[i] + 1, available, digits[i], numMovableCells - i - digits[i] - 1);
+        }
+
+        for (int tile = 0; tile < Dimension.BOARD_SIZE; tile++) {
+            if (movableIndices[tile] < 0) {
+                board[tile] = (byte) tile;
+            }
+        }
+    }
+
+    /**
+     * This method checks if the target is reachable from the provided board.
+     *
+     * @param board the tile ids of a configuration of the pieces.
+     * @return true if the target is reachable, false otherwise.
+     */
+    public boolean isReachable(byte[] board) {
+        return table.get(rank(board)) != UNREACHABLE;
+    }
+
+    /**
+     * This method returns the optimal cost of reaching the target from the provided board.
+     *
+     * @param board the tile ids of a configuration of the pieces, from which the target is reachable.
+     * @return The optimal cost.
+     */
+    public int getCost(byte[] board) {
+        return table.get(rank(board));
+    }
+
+    /**
+     * This method returns the diameter of the state space, namely the maximal optimal cost of a reachable state.
+     *
+     * @return The diameter.
+     */
+    public int getDiameter() {
+        return calcCostDistribution(table).length - 1;
+    }
+
+    /**
+     * This method returns the number of reachable states of each optimal cost.
+     *
+     * @return The number of states, indexed by optimal cost.
+     */
+    public long[] getCostDistribution() {
+        return calcCostDistribution(table);
+    }
+
+    /**
+     * This method counts the reachable states of each optimal cost in the provided table.
+     *
+     * @param costs the optimal cost of each rank.
+     * @return The number of states, indexed by optimal cost up to the diameter.
+     */
+    private static long[] calcCostDistribution(CharBuffer costs) {
+        long[] costDistribution = new long[UNREACHABLE];
+        int diameter = 0;
+        for (int rank = 0; rank < costs.limit(); rank++) {
+            char cost = costs.get(rank);
+            if (cost != UNREACHABLE) {
+                costDistribution[cost]++;
+                diameter = Math.max(diameter, cost);
+            }
+        }
+
+        return Arrays.copyOf(costDistribution, diameter + 1);
+    }
+}
@@ -0,0 +1,79 @@
+package infrastructure;
+
+/**
+ * This class represents a fixed-size transposition table, which stores the largest remaining depth a state was searched with.
+ * Entries are keyed by the 64-bit hash of the state keys and grouped into buckets of two. When both entries of a bucket
+ * are taken, the entry with the smaller depth is replaced, provided the new depth is not smaller, so the entries
+ * guarding the largest subtrees are kept. For packed keys the hash is a bijection of the board, so a matching hash is a matching state.
+ *
+ * @author Yahav Karpel
+ */
+public class TranspositionTable {
+
+    private static final int BUCKET_SIZE = 2;
+    private static final short NO_DEPTH = 0;
+
+    private final long[] hashes;
+    private final short[] depths;
+    private final int mask;
+
+    /**
+     * This method constructs an empty table holding up to the specified number of entries.
+     *
+     * @param capacity the maximal number of entries, rounded down to a power of two.
+     */
+    public TranspositionTable(int capacity) {
+        capacity = Integer.highestOneBit(Math.max(capacity, BUCKET_SIZE));
+        hashes = new long[capacity];
+        depths = new short[capacity];
+        mask = capacity - BUCKET_SIZE;
+    }
+
+    /**
+     * This method returns the largest remaining depth the state of the provided key was searched with.
+     *
+     * @param key the key of the state.
+     * @return The stored depth, or zero if the state is not in the table.
+     */
+    public int getDepth(StateKey key) {
+        long hash = key.hash64();
+        int bucket = (int) hash & mask;
+        for (int slot = bucket; slot < bucket + BUCKET_SIZE; slot++) {
+            if (depths[slot] != NO_DEPTH && hashes[slot] == hash) {
+                return depths[slot];
+            }
+        }
+
+        return NO_DEPTH;
+    }
+
+    /**
+     * This method records that the state of the provided key is searched with the provided remaining depth.
+     * If the state is already in the table, its entry keeps the larger depth.
+     *
+     * @param key   the key of the state.
+     * @param depth the remaining depth, which must be positive.
+     */
+    public void put(StateKey key, int depth) {
+        long hash = key.hash64();
+        int bucket = (int) hash & mask;
+        int victim = bucket;
+        for (int slot = bucket; slot < bucket + BUCKET_SIZE; slot++) {
+            if (depths[slot] == NO_DEPTH || hashes[slot] == hash) {
+                victim = slot;
+                break;
+            }
+
+            if (depths[slot] < depths[victim]) {
+                victim = slot;
+            }
+        }
+
+        if (depths[victim] != NO_DEPTH && hashes[victim] == hash) {
+            depths[victim] = (short) Math.max(depths[victim], depth);
+        } else if (depth >= depths[victim]) {
+            hashes[victim] = hash;
+            depths[victim] = (short) depth;
+        }
+    }
+}
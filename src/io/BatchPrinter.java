@@ -0,0 +1,80 @@
+package io;
+
+import constants.IOConstants;
+import constants.PunctuationConstants;
+import exception.OutputFileCreationException;
+import infrastructure.InformedDepthFirstNode;
+import infrastructure.Node;
+import infrastructure.SearchMetrics;
+import service.BatchService;
+import service.OutputService;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class represents a batch printer responsible for solving many puzzles in a single run and printing their results to a file.
+ * The puzzles are solved concurrently on a bounded number of threads, set by the batch.threads system property,
+ * and each puzzle is printed as a single record in the order of the batch file.
+ *
+ * @author Yahav Karpel
+ */
+public class BatchPrinter {
+
+    /**
+     * This method solves the puzzles of the provided batch file and prints their results to a file.
+     *
+     * @param batchFileName the name of the batch file.
+     * @throws OutputFileCreationException if an error occurs during results file creation.
+     */
+    public static void printBatchOutput(String batchFileName) {
+        List<List<String>> batchInputLines = InputParser.parseBatchInputLines(batchFileName);
+        int numThreads = Integer.getInteger(IOConstants.BATCH_THREADS_PROPERTY, Runtime.getRuntime().availableProcessors());
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+        try (PrintWriter resultsFile = new PrintWriter(new FileWriter(IOConstants.RESULTS_FILE_NAME))) {
+            List<Future<String>> resultRecords = new ArrayList<>();
+            for (List<String> inputLines : batchInputLines) {
+                resultRecords.add(executorService.submit(() -> BatchService.createResultRecord(inputLines)));
+            }
+
+            resultsFile.println(IOConstants.RESULTS_HEADER);
+            for (int i = 0; i < resultRecords.size(); i++) {
+                resultsFile.println((i + 1) + PunctuationConstants.TAB + resultRecords.get(i).get());
+            }
+        } catch (IOException e) {
+            throw new OutputFileCreationException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * This method solves a single puzzle of a batch and creates its result record.
+     * It is invoked within the class loader of the layout of the puzzle, so the tables of the layout are reused.
+     *
+     * @param inputLines a list of strings representing the non-empty lines of a single puzzle.
+     * @return The result record of the puzzle.
+     */
+    public static String createResultRecord(List<String> inputLines) {
+        long start = System.currentTimeMillis();
+        SearchMetrics.reset();
+        String searchName = InputParser.getSearchName(inputLines);
+        InformedDepthFirstNode root = new InformedDepthFirstNode(InputParser.parseInputBoard(inputLines));
+        Node targetNode = OutputService.executeSearch(root, searchName);
+        return OutputService.createResultRecord(searchName, inputLines.get(1), root, targetNode, start);
+    }
+
+    private BatchPrinter() {
+    }
+}
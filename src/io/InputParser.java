@@ -21,17 +21,41 @@ import java.util.stream.Collectors;
  */
 public class InputParser {
 
-    private static final List<String> inputLines = readInputLines();
+    private static List<String> inputLines;
 
     /**
-     * This method reads all lines from the input file and returns them as a list of strings.
+     * This method returns the lines of the input file, reading them on first use.
      *
-     * @return A list of strings representing the lines read from the input file.
+     * @return A list of strings representing the lines of the input file.
+     */
+    private static synchronized List<String> getInputLines() {
+        if (inputLines == null) {
+            inputLines = readInputLines(IOConstants.INPUT_FILE_NAME);
+        }
+
+        return inputLines;
+    }
+
+    /**
+     * This method sets the input lines in place of the input file.
+     * It must be called before the input is first used.
+     *
+     * @param inputLines a list of strings representing the non-empty lines of a single puzzle.
+     */
+    public static synchronized void setInputLines(List<String> inputLines) {
+        InputParser.inputLines = inputLines;
+    }
+
+    /**
+     * This method reads all non-empty lines from the provided file and returns them as a list of strings.
+     *
+     * @param fileName the name of the file to read.
+     * @return A list of strings representing the lines read from the file.
      * @throws InputFileProcessingException if an IOException occurs during file reading.
      */
-    private static List<String> readInputLines() {
+    private static List<String> readInputLines(String fileName) {
         List<String> inputLines = new ArrayList<>();
-        try (Scanner scanner = new Scanner(new File(IOConstants.INPUT_FILE_NAME))) {
+        try (Scanner scanner = new Scanner(new File(fileName))) {
             while (scanner.hasNext()) {
                 String inputLine = scanner.nextLine().trim();
                 if (!inputLine.isEmpty()) {
@@ -45,12 +69,44 @@ public class InputParser {
         return inputLines;
     }
 
+    /**
+     * This method parses the puzzles of the provided batch file.
+     * The batch file holds the puzzles one after the other in the format of the input file, and since the dimension line
+     * determines the number of board lines, no separator is required between them.
+     *
+     * @param batchFileName the name of the batch file.
+     * @return The input lines of each puzzle, in the order of the batch file.
+     */
+    public static List<List<String>> parseBatchInputLines(String batchFileName) {
+        List<String> batchLines = readInputLines(batchFileName);
+        List<List<String>> batchInputLines = new ArrayList<>();
+        int start = 0;
+        while (start < batchLines.size()) {
+            int numOfRows = parseDimensions(batchLines.subList(start, batchLines.size())).get(0);
+            int end = Math.min(start + IOConstants.NUM_OF_HEADER_LINES + numOfRows, batchLines.size());
+            batchInputLines.add(List.copyOf(batchLines.subList(start, end)));
+            start = end;
+        }
+
+        return batchInputLines;
+    }
+
     /**
      * This method returns the search name from the input file.
      *
      * @return The search name.
      */
     public static String getSearchName() {
+        return getSearchName(getInputLines());
+    }
+
+    /**
+     * This method returns the search name from the provided input lines.
+     *
+     * @param inputLines a list of strings representing the non-empty lines of a single puzzle.
+     * @return The search name.
+     */
+    public static String getSearchName(List<String> inputLines) {
         return inputLines.get(0);
     }
 
@@ -60,6 +116,16 @@ public class InputParser {
      * @return The parsed dimensions of the puzzle.
      */
     public static List<Integer> parseDimensions() {
+        return parseDimensions(getInputLines());
+    }
+
+    /**
+     * This method parses the dimensions of the puzzle from the provided input lines.
+     *
+     * @param inputLines a list of strings representing the non-empty lines of a single puzzle.
+     * @return The parsed dimensions of the puzzle.
+     */
+    public static List<Integer> parseDimensions(List<String> inputLines) {
         return StringService.tokenizeIntoList(inputLines.get(1), IOConstants.DIMENSION_DELIMITER)
                             .stream()
                             .map(Integer::valueOf)
@@ -72,10 +138,20 @@ public class InputParser {
      * @return The parsed input board.
      */
     public static List<Piece> parseInputBoard() {
+        return parseInputBoard(getInputLines());
+    }
+
+    /**
+     * This method parses the board from the provided input lines.
+     *
+     * @param inputLines a list of strings representing the non-empty lines of a single puzzle.
+     * @return The parsed input board.
+     */
+    public static List<Piece> parseInputBoard(List<String> inputLines) {
         List<Piece> board = new ArrayList<>();
         Set<String> grayPieces = InputService.extractNumericValues(inputLines.get(2));
         Set<String> redPieces = InputService.extractNumericValues(inputLines.get(3));
-        for (String rawData : parseInputRawBoard()) {
+        for (String rawData : parseInputRawBoard(inputLines)) {
             Piece piece = InputService.createPiece(rawData, grayPieces, redPieces);
             board.add(piece);
         }
@@ -85,12 +161,13 @@ public class InputParser {
     }
 
     /**
-     * This method parses the raw board from the input file.
+     * This method parses the raw board from the provided input lines.
      *
+     * @param inputLines a list of strings representing the non-empty lines of a single puzzle.
      * @return The parsed input raw board.
      */
-    private static List<String> parseInputRawBoard() {
-        return inputLines.subList(4, inputLines.size())
+    private static List<String> parseInputRawBoard(List<String> inputLines) {
+        return inputLines.subList(IOConstants.NUM_OF_HEADER_LINES, inputLines.size())
                          .stream()
                          .map(inputLine -> StringService.tokenizeIntoList(inputLine, IOConstants.NUMERIC_VALUES_DELIMITER))
                          .flatMap(List::stream)
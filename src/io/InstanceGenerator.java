@@ -0,0 +1,116 @@
+package io;
+
+import constants.IOConstants;
+import exception.InstanceGenerationException;
+import exception.OutputFileCreationException;
+import exception.UnsupportedGenerationMethodException;
+import service.GeneratorService;
+import service.StringService;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * This class represents an instance generator responsible for generating random solvable puzzles and printing them to a file.
+ * A single puzzle is printed in the input file format, and many puzzles are printed one after the other in the batch file format.
+ * The puzzles are reproducible from the seed set by the generate.seed system property, and all of them share the same dimensions
+ * and gray and red pieces, so a batch of them shares its precomputed tables.
+ *
+ * @author Yahav Karpel
+ */
+public class InstanceGenerator {
+
+    /**
+     * This method generates the puzzles configured by the generate system properties and prints them to the provided file.
+     *
+     * @param fileName the name of the file.
+     * @throws OutputFileCreationException if an error occurs during file creation.
+     */
+    public static void printGeneratedInstances(String fileName) {
+        List<Integer> dimensions = StringService.tokenizeIntoList(System.getProperty(IOConstants.GENERATE_DIMENSION_PROPERTY, IOConstants.DEFAULT_GENERATE_DIMENSION),
+                                                                  IOConstants.DIMENSION_DELIMITER)
+                                                .stream()
+                                                .map(Integer::valueOf)
+                                                .toList();
+        int numOfRows = dimensions.get(0);
+        int numOfCols = dimensions.get(1);
+        String searchName = System.getProperty(IOConstants.GENERATE_ALGORITHM_PROPERTY, IOConstants.DEFAULT_GENERATE_ALGORITHM);
+        String methodName = System.getProperty(IOConstants.GENERATE_METHOD_PROPERTY, IOConstants.WALK_METHOD).toLowerCase();
+        Random random = new Random(Long.getLong(IOConstants.GENERATE_SEED_PROPERTY, IOConstants.DEFAULT_GENERATE_SEED));
+        Set<Integer> grayTiles = chooseGrayTiles(methodName, numOfRows, numOfCols, random);
+        Set<Integer> redTiles = GeneratorService.chooseTiles(numOfRows * numOfCols - 1, Integer.getInteger(IOConstants.GENERATE_RED_PROPERTY, 0),
+                                                             grayTiles, random);
+        try (PrintWriter outputFile = new PrintWriter(new FileWriter(fileName))) {
+            int count = Integer.getInteger(IOConstants.GENERATE_COUNT_PROPERTY, 1);
+            for (int i = 0; i < count; i++) {
+                int[] board = generateBoard(methodName, numOfRows, numOfCols, grayTiles, redTiles, random);
+                GeneratorService.createInputLines(searchName, numOfRows, numOfCols, grayTiles, redTiles, board).forEach(outputFile::println);
+            }
+        } catch (IOException e) {
+            throw new OutputFileCreationException(e);
+        }
+    }
+
+    /**
+     * This method chooses the gray pieces at random. Random permutations require gray pieces that leave the board permutable,
+     * so the gray pieces are chosen again until they do.
+     *
+     * @param methodName the name of the generation method.
+     * @param numOfRows  the number of rows.
+     * @param numOfCols  the number of columns.
+     * @param random     the source of randomness.
+     * @return The tiles of the gray pieces.
+     * @throws InstanceGenerationException if no gray pieces leaving the board permutable are chosen within the maximal number of attempts.
+     */
+    private static Set<Integer> chooseGrayTiles(String methodName, int numOfRows, int numOfCols, Random random) {
+        int numGrayTiles = Integer.getInteger(IOConstants.GENERATE_GRAY_PROPERTY, 0);
+        for (int attempt = 0; attempt < IOConstants.MAX_GENERATION_ATTEMPTS; attempt++) {
+            Set<Integer> grayTiles = GeneratorService.chooseTiles(numOfRows * numOfCols - 1, numGrayTiles, Set.of(), random);
+            if (!IOConstants.PERMUTATION_METHOD.equals(methodName) || GeneratorService.isPermutable(numOfRows, numOfCols, grayTiles)) {
+                return grayTiles;
+            }
+        }
+
+        throw new InstanceGenerationException("whose gray pieces leave the board permutable");
+    }
+
+    /**
+     * This method generates a board other than the target whose estimated cost is within the difficulty band set by the
+     * generate.min.cost and generate.max.cost system properties, drawing boards again until one is.
+     *
+     * @param methodName the name of the generation method.
+     * @param numOfRows  the number of rows.
+     * @param numOfCols  the number of columns.
+     * @param grayTiles  the tiles of the gray pieces.
+     * @param redTiles   the tiles of the red pieces.
+     * @param random     the source of randomness.
+     * @return The tile ids of the generated board.
+     * @throws UnsupportedGenerationMethodException if the generation method is not supported.
+     * @throws InstanceGenerationException          if no board within the difficulty band is generated within the maximal number of attempts.
+     */
+    private static int[] generateBoard(String methodName, int numOfRows, int numOfCols, Set<Integer> grayTiles, Set<Integer> redTiles, Random random) {
+        int minCost = Integer.getInteger(IOConstants.GENERATE_MIN_COST_PROPERTY, 1);
+        int maxCost = Integer.getInteger(IOConstants.GENERATE_MAX_COST_PROPERTY, Integer.MAX_VALUE);
+        int walkLength = Integer.getInteger(IOConstants.GENERATE_WALK_LENGTH_PROPERTY, IOConstants.DEFAULT_GENERATE_WALK_LENGTH);
+        for (int attempt = 0; attempt < IOConstants.MAX_GENERATION_ATTEMPTS; attempt++) {
+            int[] board = switch (methodName) {
+                case IOConstants.WALK_METHOD -> GeneratorService.generateByWalk(numOfRows, numOfCols, grayTiles, walkLength, random);
+                case IOConstants.PERMUTATION_METHOD -> GeneratorService.generateByPermutation(numOfRows, numOfCols, grayTiles, random);
+                default -> throw new UnsupportedGenerationMethodException(methodName);
+            };
+            int estimatedCost = GeneratorService.estimateCost(board, numOfCols, redTiles);
+            if (estimatedCost > 0 && estimatedCost >= minCost && estimatedCost <= maxCost) {
+                return board;
+            }
+        }
+
+        throw new InstanceGenerationException(String.format("with an estimated cost between %d and %d", minCost, maxCost));
+    }
+
+    private InstanceGenerator() {
+    }
+}
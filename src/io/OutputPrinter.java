@@ -1,14 +1,18 @@
 package io;
 
+import component.Piece;
 import constants.IOConstants;
 import exception.OutputFileCreationException;
 import infrastructure.InformedDepthFirstNode;
 import infrastructure.Node;
+import infrastructure.SearchMetrics;
+import search.Searchable;
 import service.OutputService;
 
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.List;
 
 /**
  * This class represents an output printer responsible for printing search output data to a file.
@@ -25,13 +29,30 @@ public class OutputPrinter {
     public static void printSearchOutput() {
         try {
             long start = System.currentTimeMillis();
+            SearchMetrics.reset();
             FileWriter fileWriter = new FileWriter(IOConstants.OUTPUT_FILE_NAME);
             PrintWriter outputFile = new PrintWriter(fileWriter);
-            InformedDepthFirstNode root = new InformedDepthFirstNode();
-            Node targetNode = OutputService.executeSearch(root);
+            long phaseStart = System.nanoTime();
+            List<Piece> inputBoard = InputParser.parseInputBoard();
+            String searchName = InputParser.getSearchName();
+            SearchMetrics.recordParseTime(System.nanoTime() - phaseStart);
+            phaseStart = System.nanoTime();
+            InformedDepthFirstNode root = new InformedDepthFirstNode(inputBoard);
+            Searchable searchable = OutputService.initSearch(searchName);
+            SearchMetrics.recordSetupTime(System.nanoTime() - phaseStart);
+            phaseStart = System.nanoTime();
+            Node targetNode = OutputService.executeSearch(root, searchable);
+            SearchMetrics.recordSearchTime(System.nanoTime() - phaseStart);
+            phaseStart = System.nanoTime();
             OutputService.printShortestPath(outputFile, targetNode);
             OutputService.printNumOfNodesGenerated(outputFile);
             OutputService.printPathCost(outputFile, root, targetNode);
+            searchable.printReport(outputFile);
+            SearchMetrics.recordOutputTime(System.nanoTime() - phaseStart);
+            if (Boolean.getBoolean(IOConstants.METRICS_PROPERTY)) {
+                OutputService.printMetrics(outputFile, SearchMetrics.getMetrics());
+            }
+
             OutputService.printExecutionTime(outputFile, start);
             outputFile.close();
         } catch (IOException e) {
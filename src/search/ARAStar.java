@@ -0,0 +1,249 @@
+package search;
+
+import component.Move;
+import constants.SearchConstants;
+import infrastructure.InformedDepthFirstNode;
+import infrastructure.InformedNode;
+import infrastructure.Node;
+import infrastructure.SearchMetrics;
+import infrastructure.StateKey;
+import infrastructure.StateTable;
+import service.OutputService;
+import service.SearchService;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * This class represents Anytime Repairing A* algorithm for searching in a state space within a time budget.
+ * The search starts as weighted A* with an inflated weight of the h value, which finds a first solution fast,
+ * and then lowers the weight step by step down to one, improving the solution each time. Instead of starting over,
+ * each step resumes from the nodes left by the previous one: a state reached more cheaply after its expansion
+ * within a step is set aside, and only queued again in the next step. After each step, the solution cost divided by
+ * the minimal f value of the queued and set-aside nodes bounds the suboptimality of the solution. Once the time budget
+ * runs out, the best solution found so far is returned.
+ *
+ * @author Yahav Karpel
+ */
+public class ARAStar implements Searchable {
+
+    private static final double MIN_WEIGHT = 1.0;
+    private static final double EPSILON = 1e-9;
+
+    private final double initialWeight = Double.parseDouble(System.getProperty(SearchConstants.ARA_WEIGHT_PROPERTY, SearchConstants.DEFAULT_ARA_WEIGHT));
+    private final double weightStep = Double.parseDouble(System.getProperty(SearchConstants.ARA_WEIGHT_STEP_PROPERTY, SearchConstants.DEFAULT_ARA_WEIGHT_STEP));
+    private final long timeBudget = Long.getLong(SearchConstants.ARA_TIME_BUDGET_PROPERTY, SearchConstants.DEFAULT_ARA_TIME_BUDGET);
+    private ARAStarData araStarData;
+
+    /**
+     * This method performs ARA* search starting from the provided root node.
+     *
+     * @param root the root node from which the search begins.
+     * @return The best target node found within the time budget, null otherwise.
+     */
+    @Override
+    public Node search(InformedDepthFirstNode root) {
+        araStarData = new ARAStarData(Math.max(initialWeight, MIN_WEIGHT), System.nanoTime() + timeBudget * 1_000_000);
+        root.updateF();
+        araStarData.states.put(root);
+        araStarData.pq.add(root);
+        while (improvePath(araStarData)) {
+            araStarData.publishSolution();
+            if (araStarData.getBound() <= MIN_WEIGHT + EPSILON || araStarData.weight <= MIN_WEIGHT + EPSILON) {
+                break;
+            }
+
+            araStarData.lowerWeight(weightStep);
+        }
+
+        araStarData.publishSolution();
+        return araStarData.targetNode;
+    }
+
+    /**
+     * This method expands nodes in the order of the current weight until no queued node can lead to a cheaper solution.
+     *
+     * @param araStarData the data object storing the search state.
+     * @return true if the step completed, false if the time budget ran out or the state space was exhausted.
+     */
+    private boolean improvePath(ARAStarData araStarData) {
+        long numExpansions = 0;
+        while (true) {
+            InformedNode node = araStarData.peekNode();
+            if (node == null) {
+                return araStarData.targetNode != null;
+            }
+
+            if (araStarData.calcPriority(node) >= araStarData.getSolutionCost()) {
+                return true;
+            }
+
+            if (++numExpansions % SearchConstants.ARA_TIME_CHECK_INTERVAL == 0 && araStarData.isTimeUp()) {
+                return false;
+            }
+
+            araStarData.pq.remove();
+            araStarData.closed.add(node.getKey());
+            araStarData.recorder.recordExpansion(node.getF());
+            araStarData.recorder.recordOpenSize(araStarData.pq.size());
+            araStarData.recorder.recordClosedSize(araStarData.closed.size());
+            visitNeighbors(node, araStarData);
+        }
+    }
+
+    /**
+     * This method visits the neighbors of the provided node in the search space and processes them.
+     *
+     * @param node        the node being expanded.
+     * @param araStarData the data object storing the search state.
+     */
+    private void visitNeighbors(InformedNode node, ARAStarData araStarData) {
+        for (Move move : SearchService.getMoves(node)) {
+            InformedNode neighbor = SearchService.expandNode(node, move);
+            if (neighbor != null) {
+                InformedNode seen = araStarData.states.get(neighbor.getKey());
+                if (seen == null || neighbor.getWeight() < seen.getWeight()) {
+                    neighbor.updateF();
+                    araStarData.states.put(neighbor);
+                    if (neighbor.isTarget()) {
+                        araStarData.targetNode = neighbor;
+                    } else if (araStarData.closed.contains(neighbor.getKey())) {
+                        araStarData.incons.add(neighbor);
+                        araStarData.recorder.recordReopening();
+                    } else {
+                        araStarData.pq.add(neighbor);
+                    }
+                } else {
+                    araStarData.recorder.recordDuplicate();
+                }
+            }
+        }
+    }
+
+    /**
+     * This method prints the solutions found in the order of their improvement, each with its suboptimality bound,
+     * followed by the bound proven for the returned solution.
+     *
+     * @param outputFile the PrintWriter to which the report is printed.
+     */
+    @Override
+    public void printReport(PrintWriter outputFile) {
+        if (araStarData == null) {
+            return;
+        }
+
+        List<Solution> solutions = araStarData.solutions;
+        for (int i = 0; i < solutions.size(); i++) {
+            Solution solution = solutions.get(i);
+            outputFile.println(String.format("Solution %d: %s (cost %d, bound %.3f, %.3f seconds)", i + 1,
+                    OutputService.formatShortestPath(solution.targetNode()), solution.targetNode().getWeight(),
+                    solution.bound(), solution.elapsedTime() / 1e9));
+        }
+
+        if (!solutions.isEmpty()) {
+            outputFile.println(String.format("Suboptimality bound: %.3f", solutions.get(solutions.size() - 1).bound()));
+        }
+    }
+
+    private record Solution(Node targetNode, double bound, long elapsedTime) {
+    }
+
+    private static class ARAStarData {
+
+        private final StateTable<InformedNode> states = new StateTable<>();
+        private final Set<StateKey> closed = new HashSet<>();
+        private final List<InformedNode> incons = new ArrayList<>();
+        private final List<Solution> solutions = new ArrayList<>();
+        private final SearchMetrics.Recorder recorder = SearchMetrics.getRecorder();
+        private final long start = System.nanoTime();
+        private final long deadline;
+        private Queue<InformedNode> pq;
+        private double weight;
+        private Node targetNode;
+
+        public ARAStarData(double weight, long deadline) {
+            this.weight = weight;
+            this.deadline = deadline;
+            pq = createQueue();
+        }
+
+        private Queue<InformedNode> createQueue() {
+            return new PriorityQueue<>(Comparator.comparingDouble(this::calcPriority).thenComparingInt(InformedNode::getH));
+        }
+
+        public double calcPriority(InformedNode node) {
+            return node.getWeight() + weight * node.getH();
+        }
+
+        public InformedNode peekNode() {
+            // nodes superseded by a cheaper node of the same state are skipped
+            while (!pq.isEmpty() && states.get(pq.peek().getKey()) != pq.peek()) {
+                pq.remove();
+            }
+
+            return pq.peek();
+        }
+
+        public int getSolutionCost() {
+            return targetNode == null ? Integer.MAX_VALUE : targetNode.getWeight();
+        }
+
+        public boolean isTimeUp() {
+            return System.nanoTime() - deadline >= 0;
+        }
+
+        public double getBound() {
+            return solutions.isEmpty() ? Double.POSITIVE_INFINITY : solutions.get(solutions.size() - 1).bound();
+        }
+
+        public void publishSolution() {
+            if (targetNode == null) {
+                return;
+            }
+
+            int minF = Integer.MAX_VALUE;
+            for (InformedNode node : pq) {
+                if (states.get(node.getKey()) == node) {
+                    minF = Math.min(minF, node.getF());
+                }
+            }
+
+            for (InformedNode node : incons) {
+                if (states.get(node.getKey()) == node) {
+                    minF = Math.min(minF, node.getF());
+                }
+            }
+
+            double bound = Math.min(getBound(), Math.max(MIN_WEIGHT, (double) targetNode.getWeight() / minF));
+            if (solutions.isEmpty() || solutions.get(solutions.size() - 1).targetNode() != targetNode || bound < getBound()) {
+                solutions.add(new Solution(targetNode, bound, System.nanoTime() - start));
+            }
+        }
+
+        public void lowerWeight(double weightStep) {
+            weight = Math.max(MIN_WEIGHT, weight - weightStep);
+            Queue<InformedNode> nextPq = createQueue();
+            for (InformedNode node : pq) {
+                if (states.get(node.getKey()) == node) {
+                    nextPq.add(node);
+                }
+            }
+
+            for (InformedNode node : incons) {
+                if (states.get(node.getKey()) == node) {
+                    nextPq.add(node);
+                }
+            }
+
+            pq = nextPq;
+            incons.clear();
+            closed.clear();
+        }
+    }
+}
@@ -1,16 +1,14 @@
 package search;
 
-import component.GeneratingOperator;
+import component.Move;
+import infrastructure.BucketQueue;
 import infrastructure.InformedDepthFirstNode;
 import infrastructure.InformedNode;
 import infrastructure.Node;
+import infrastructure.SearchMetrics;
+import infrastructure.StateTable;
 import service.SearchService;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Queue;
-
 /**
  * This class represents A* algorithm for searching in a state space.
  *
@@ -18,6 +16,8 @@ import java.util.Queue;
  */
 public class AStar implements Searchable {
 
+    private SearchMetrics.Recorder recorder;
+
     /**
      * This method performs A* search starting from the provided root node.
      *
@@ -26,37 +26,57 @@ public class AStar implements Searchable {
      */
     @Override
     public Node search(InformedDepthFirstNode root) {
-        Queue<InformedNode> pq = new PriorityQueue<>();
-        Map<String, InformedNode> frontier = new HashMap<>();
-        Map<String, InformedNode> history = new HashMap<>();
+        BucketQueue<InformedNode> pq = new BucketQueue<>();
+        StateTable<InformedNode> frontier = new StateTable<>();
+        StateTable<InformedNode> history = new StateTable<>();
+        recorder = SearchMetrics.getRecorder();
+        root.updateF();
         pq.add(root);
-        frontier.put(root.toString(), root);
+        frontier.put(root);
         while (!pq.isEmpty()) {
             InformedNode node = pq.remove();
+            if (isStale(node, frontier)) {
+                continue;
+            }
+
             if (node.isTarget()) {
                 return node;
             }
 
-            String nodeCode = node.toString();
-            frontier.remove(nodeCode);
-            history.put(nodeCode, node);
+            frontier.remove(node.getKey());
+            history.put(node);
+            recorder.recordExpansion(node.getF());
+            recorder.recordOpenSize(frontier.size());
+            recorder.recordClosedSize(history.size());
             visitNeighbors(node, pq, frontier, history);
         }
 
         return null;
     }
 
+    /**
+     * This method checks if the provided node was superseded in the frontier by a cheaper node of the same state.
+     * Superseded nodes are left in the queue and skipped when removed, instead of being searched for and removed eagerly.
+     *
+     * @param node     the node removed from the queue.
+     * @param frontier the table containing discovered nodes that have not yet been expanded.
+     * @return true if the node is stale, false otherwise.
+     */
+    private boolean isStale(InformedNode node, StateTable<InformedNode> frontier) {
+        return frontier.get(node.getKey()) != node;
+    }
+
     /**
      * This method visits the neighbors of the provided node in the search space and processes them.
      *
      * @param node     the node being expanded.
      * @param pq       the queue that holds nodes for processing based on priority.
-     * @param frontier the map containing discovered nodes that have not yet been expanded.
-     * @param history  the map containing nodes that have already been expanded.
+     * @param frontier the table containing discovered nodes that have not yet been expanded.
+     * @param history  the table containing nodes that have already been expanded.
      */
-    private void visitNeighbors(Node node, Queue<InformedNode> pq, Map<String, InformedNode> frontier, Map<String, InformedNode> history) {
-        for (GeneratingOperator generatingOperator : GeneratingOperator.values()) {
-            InformedNode neighbor = SearchService.expandNode(node, generatingOperator);
+    private void visitNeighbors(Node node, BucketQueue<InformedNode> pq, StateTable<InformedNode> frontier, StateTable<InformedNode> history) {
+        for (Move move : SearchService.getMoves(node)) {
+            InformedNode neighbor = SearchService.expandNode(node, move);
             if (neighbor != null) {
                 processNeighbor(neighbor, pq, frontier, history);
             }
@@ -68,38 +88,39 @@ public class AStar implements Searchable {
      *
      * @param neighbor the neighbor being processed.
      * @param pq       the queue that holds nodes for processing based on priority.
-     * @param frontier the map containing discovered nodes that have not yet been expanded.
-     * @param history  the map containing nodes that have already been expanded.
+     * @param frontier the table containing discovered nodes that have not yet been expanded.
+     * @param history  the table containing nodes that have already been expanded.
      */
-    private void processNeighbor(InformedNode neighbor, Queue<InformedNode> pq, Map<String, InformedNode> frontier, Map<String, InformedNode> history) {
-        String neighborCode = neighbor.toString();
-        if (!history.containsKey(neighborCode)) {
+    private void processNeighbor(InformedNode neighbor, BucketQueue<InformedNode> pq, StateTable<InformedNode> frontier, StateTable<InformedNode> history) {
+        if (!history.contains(neighbor.getKey())) {
             neighbor.updateF();
-            if (isPromisingCandidate(neighbor, neighborCode, pq, frontier)) {
+            if (isPromisingCandidate(neighbor, frontier)) {
                 pq.add(neighbor);
-                frontier.put(neighborCode, neighbor);
+                return;
             }
         }
+
+        recorder.recordDuplicate();
     }
 
     /**
      * This method checks if the provided neighbor is a promising candidate, either as the target
-     * or with reduced cost to the target.
+     * or with reduced cost to the target. A promising candidate is stored in the frontier,
+     * superseding any costlier node of the same state.
      *
-     * @param neighbor     the neighbor being considered.
-     * @param neighborCode the unique code representing the neighbor.
-     * @param pq           the queue that holds nodes for processing based on priority.
-     * @param frontier     the map containing discovered nodes that have not yet been expanded.
+     * @param neighbor the neighbor being considered.
+     * @param frontier the table containing discovered nodes that have not yet been expanded.
      * @return true if the neighbor is a promising candidate, false otherwise.
      */
-    private boolean isPromisingCandidate(InformedNode neighbor, String neighborCode, Queue<InformedNode> pq, Map<String, InformedNode> frontier) {
-        if (!frontier.containsKey(neighborCode)) {
+    private boolean isPromisingCandidate(InformedNode neighbor, StateTable<InformedNode> frontier) {
+        InformedNode node = frontier.putIfAbsent(neighbor);
+        if (node == null) {
             return true;
         }
 
-        InformedNode node = frontier.get(neighborCode);
         if (neighbor.getF() < node.getF()) {
-            return pq.remove(node);
+            frontier.put(neighbor);
+            return true;
         }
 
         return false;
@@ -1,13 +1,13 @@
 package search;
 
-import component.GeneratingOperator;
+import component.Move;
 import infrastructure.InformedDepthFirstNode;
 import infrastructure.Node;
+import infrastructure.SearchMetrics;
+import infrastructure.StateTable;
 import service.SearchService;
 
-import java.util.HashMap;
 import java.util.LinkedList;
-import java.util.Map;
 import java.util.Queue;
 
 /**
@@ -17,6 +17,8 @@ import java.util.Queue;
  */
 public class BFS implements Searchable {
 
+    private SearchMetrics.Recorder recorder;
+
     /**
      * This method performs BFS starting from the provided root node.
      *
@@ -26,15 +28,18 @@ public class BFS implements Searchable {
     @Override
     public Node search(InformedDepthFirstNode root) {
         Queue<Node> queue = new LinkedList<>();
-        Map<String, Node> frontier = new HashMap<>();
-        Map<String, Node> history = new HashMap<>();
+        StateTable<Node> frontier = new StateTable<>();
+        StateTable<Node> history = new StateTable<>();
+        recorder = SearchMetrics.getRecorder();
         queue.add(root);
-        frontier.put(root.toString(), root);
+        frontier.put(root);
         while (!queue.isEmpty()) {
             Node node = queue.remove();
-            String nodeCode = node.toString();
-            frontier.remove(nodeCode);
-            history.put(nodeCode, node);
+            frontier.remove(node.getKey());
+            history.put(node);
+            recorder.recordExpansion(node.getWeight());
+            recorder.recordOpenSize(queue.size());
+            recorder.recordClosedSize(history.size());
             Node targetNode = visitNeighbors(node, queue, frontier, history);
             if (targetNode != null) {
                 return targetNode;
@@ -49,13 +54,13 @@ public class BFS implements Searchable {
      *
      * @param node     the node being expanded.
      * @param queue    the queue that holds nodes to be processed.
-     * @param frontier the map containing discovered nodes that have not yet been expanded.
-     * @param history  the map containing nodes that have already been expanded.
+     * @param frontier the table containing discovered nodes that have not yet been expanded.
+     * @param history  the table containing nodes that have already been expanded.
      * @return The target node if found, null otherwise.
      */
-    private Node visitNeighbors(Node node, Queue<Node> queue, Map<String, Node> frontier, Map<String, Node> history) {
-        for (GeneratingOperator generatingOperator : GeneratingOperator.values()) {
-            Node neighbor = SearchService.expandNode(node, generatingOperator);
+    private Node visitNeighbors(Node node, Queue<Node> queue, StateTable<Node> frontier, StateTable<Node> history) {
+        for (Move move : SearchService.getMoves(node)) {
+            Node neighbor = SearchService.expandNode(node, move);
             if (neighbor != null && processNeighbor(neighbor, queue, frontier, history)) {
                 return neighbor;
             }
@@ -69,19 +74,19 @@ public class BFS implements Searchable {
      *
      * @param neighbor the neighbor being processed.
      * @param queue    the queue that holds nodes to be processed.
-     * @param frontier the map containing discovered nodes that have not yet been expanded.
-     * @param history  the map containing nodes that have already been expanded.
+     * @param frontier the table containing discovered nodes that have not yet been expanded.
+     * @param history  the table containing nodes that have already been expanded.
      * @return true if the neighbor represents the target, false otherwise.
      */
-    private boolean processNeighbor(Node neighbor, Queue<Node> queue, Map<String, Node> frontier, Map<String, Node> history) {
-        String neighborCode = neighbor.toString();
-        if (!history.containsKey(neighborCode) && !frontier.containsKey(neighborCode)) {
+    private boolean processNeighbor(Node neighbor, Queue<Node> queue, StateTable<Node> frontier, StateTable<Node> history) {
+        if (!history.contains(neighbor.getKey()) && frontier.putIfAbsent(neighbor) == null) {
             if (neighbor.isTarget()) {
                 return true;
             }
 
             queue.add(neighbor);
-            frontier.put(neighborCode, neighbor);
+        } else {
+            recorder.recordDuplicate();
         }
 
         return false;
@@ -1,10 +1,14 @@
 package search;
 
-import component.GeneratingOperator;
+import component.Move;
+import constants.SearchConstants;
 import infrastructure.InformedDepthFirstNode;
 import infrastructure.Node;
+import infrastructure.SearchMetrics;
+import infrastructure.StateKey;
 import service.SearchService;
 
+import java.io.PrintWriter;
 import java.util.*;
 
 import static constants.SearchConstants.POTENTIAL;
@@ -12,11 +16,17 @@ import static constants.SearchConstants.TARGET;
 
 /**
  * This class represents Depth-First Branch and Bound algorithm for searching in a state space.
+ * If the `dfbnb.seed` system property is set, a weighted A* search with a node budget runs first,
+ * and its solution serves as the initial incumbent, so costly branches are pruned from the start.
  *
  * @author Yahav Karpel
  */
 public class DFBnB implements Searchable {
 
+    private final boolean seeded = Boolean.getBoolean(SearchConstants.DFBNB_SEED_PROPERTY);
+    private DFBnBData dfbnbData;
+    private SearchMetrics.Recorder recorder;
+
     /**
      * This method performs DFBnB search starting from the provided root node.
      *
@@ -26,18 +36,26 @@ public class DFBnB implements Searchable {
     @Override
     public Node search(InformedDepthFirstNode root) {
         Stack<InformedDepthFirstNode> stack = new Stack<>();
-        Map<String, InformedDepthFirstNode> loopAvoidance = new HashMap<>();
-        DFBnBData dfbnbData = new DFBnBData();
+        Map<StateKey, InformedDepthFirstNode> loopAvoidance = new HashMap<>();
+        dfbnbData = new DFBnBData();
+        recorder = SearchMetrics.getRecorder();
+        if (seeded) {
+            seedIncumbent(root, dfbnbData);
+        }
+
+        root.updateF();
         root.unmark();
         stack.push(root);
-        loopAvoidance.put(root.toString(), root);
+        loopAvoidance.put(root.getKey(), root);
         while (!stack.isEmpty()) {
             InformedDepthFirstNode node = stack.pop();
             if (node.isMarked()) {
-                loopAvoidance.remove(node.toString());
+                loopAvoidance.remove(node.getKey());
             } else {
                 node.mark();
                 stack.push(node);
+                recorder.recordExpansion(node.getF());
+                recorder.recordOpenSize(stack.size());
                 visitNeighbors(node, stack, loopAvoidance, dfbnbData);
             }
         }
@@ -45,6 +63,38 @@ public class DFBnB implements Searchable {
         return dfbnbData.getTargetNode();
     }
 
+    /**
+     * This method runs a weighted A* search with a node budget and sets its solution, if any, as the incumbent.
+     *
+     * @param root      the root node from which the search begins.
+     * @param dfbnbData the data object storing the current best result and limit.
+     */
+    private void seedIncumbent(InformedDepthFirstNode root, DFBnBData dfbnbData) {
+        double weight = Double.parseDouble(System.getProperty(SearchConstants.DFBNB_SEED_WEIGHT_PROPERTY, SearchConstants.DEFAULT_DFBNB_SEED_WEIGHT));
+        long nodeBudget = Long.getLong(SearchConstants.DFBNB_SEED_BUDGET_PROPERTY, SearchConstants.DEFAULT_DFBNB_SEED_BUDGET);
+        root.updateF();
+        Node targetNode = new WeightedAStar(weight, nodeBudget).search(root);
+        if (targetNode != null) {
+            dfbnbData.setSearchLimit(targetNode.getWeight());
+            dfbnbData.setTargetNode(targetNode);
+            dfbnbData.setInitialSearchLimit(targetNode.getWeight());
+        }
+    }
+
+    /**
+     * This method prints the initial incumbent cost and the number of nodes pruned by the bound, if the search was seeded.
+     *
+     * @param outputFile the PrintWriter to which the report is printed.
+     */
+    @Override
+    public void printReport(PrintWriter outputFile) {
+        if (seeded && dfbnbData != null) {
+            int initialSearchLimit = dfbnbData.getInitialSearchLimit();
+            outputFile.println("Initial upper bound: " + (initialSearchLimit == Integer.MAX_VALUE ? "none" : initialSearchLimit));
+            outputFile.println(String.format("Num of nodes pruned by bound: %d", dfbnbData.getNumPrunedNodes()));
+        }
+    }
+
     /**
      * This method visits the neighbors of the provided node in the search space and processes them.
      *
@@ -53,13 +103,13 @@ public class DFBnB implements Searchable {
      * @param loopAvoidance the map that tracks visited nodes to prevent cycles during the search.
      * @param dfbnbData     the data object storing the current best result and limit.
      */
-    private void visitNeighbors(InformedDepthFirstNode node, Stack<InformedDepthFirstNode> stack, Map<String, InformedDepthFirstNode> loopAvoidance, DFBnBData dfbnbData) {
+    private void visitNeighbors(InformedDepthFirstNode node, Stack<InformedDepthFirstNode> stack, Map<StateKey, InformedDepthFirstNode> loopAvoidance, DFBnBData dfbnbData) {
         Queue<InformedDepthFirstNode> pq = createNeighbors(node, dfbnbData);
         Stack<InformedDepthFirstNode> candidates = extractCandidates(pq, loopAvoidance, dfbnbData);
         while (!candidates.isEmpty()) {
             InformedDepthFirstNode candidate = candidates.pop();
             stack.push(candidate);
-            loopAvoidance.put(candidate.toString(), candidate);
+            loopAvoidance.put(candidate.getKey(), candidate);
         }
     }
 
@@ -72,12 +122,14 @@ public class DFBnB implements Searchable {
      */
     private Queue<InformedDepthFirstNode> createNeighbors(InformedDepthFirstNode node, DFBnBData dfbnbData) {
         Queue<InformedDepthFirstNode> pq = new PriorityQueue<>();
-        for (GeneratingOperator generatingOperator : GeneratingOperator.values()) {
-            InformedDepthFirstNode neighbor = SearchService.expandNode(node, generatingOperator);
+        for (Move move : SearchService.getMoves(node)) {
+            InformedDepthFirstNode neighbor = SearchService.expandNode(node, move);
             if (neighbor != null) {
                 neighbor.updateF();
                 if (neighbor.getF() < dfbnbData.getSearchLimit()) {
                     pq.add(neighbor);
+                } else {
+                    dfbnbData.incrementNumPrunedNodes();
                 }
             }
         }
@@ -93,17 +145,23 @@ public class DFBnB implements Searchable {
      * @param dfbnbData     the data object storing the current best result and limit.
      * @return A stack of extracted candidate nodes.
      */
-    private Stack<InformedDepthFirstNode> extractCandidates(Queue<InformedDepthFirstNode> pq, Map<String, InformedDepthFirstNode> loopAvoidance, DFBnBData dfbnbData) {
+    private Stack<InformedDepthFirstNode> extractCandidates(Queue<InformedDepthFirstNode> pq, Map<StateKey, InformedDepthFirstNode> loopAvoidance, DFBnBData dfbnbData) {
         Stack<InformedDepthFirstNode> candidates = new Stack<>();
         while (!pq.isEmpty()) {
             InformedDepthFirstNode neighbor = pq.remove();
+            boolean isSeen = loopAvoidance.containsKey(neighbor.getKey());
             String tag = SearchService.tagNeighbor(neighbor, loopAvoidance);
             if (POTENTIAL.equals(tag)) {
                 candidates.push(neighbor);
+                if (isSeen) {
+                    recorder.recordReopening();
+                }
             } else if (TARGET.equals(tag)) {
                 dfbnbData.setSearchLimit(neighbor.getF());
                 dfbnbData.setTargetNode(neighbor);
                 break;
+            } else {
+                recorder.recordDuplicate();
             }
         }
 
@@ -114,6 +172,8 @@ public class DFBnB implements Searchable {
 
         private Node targetNode;
         private int searchLimit = Integer.MAX_VALUE;
+        private int initialSearchLimit = Integer.MAX_VALUE;
+        private long numPrunedNodes;
 
         public Node getTargetNode() {
             return targetNode;
@@ -130,5 +190,21 @@ public class DFBnB implements Searchable {
         public void setSearchLimit(int searchLimit) {
             this.searchLimit = searchLimit;
         }
+
+        public int getInitialSearchLimit() {
+            return initialSearchLimit;
+        }
+
+        public void setInitialSearchLimit(int initialSearchLimit) {
+            this.initialSearchLimit = initialSearchLimit;
+        }
+
+        public long getNumPrunedNodes() {
+            return numPrunedNodes;
+        }
+
+        public void incrementNumPrunedNodes() {
+            numPrunedNodes++;
+        }
     }
 }
@@ -0,0 +1,200 @@
+package search;
+
+import component.GeneratingOperator;
+import component.Move;
+import infrastructure.ExternalStateSet;
+import infrastructure.InformedDepthFirstNode;
+import infrastructure.Node;
+import infrastructure.SearchMetrics;
+import service.ExternalSearchService;
+import service.InfrastructureService;
+import service.SearchService;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * This class represents an external-memory variant of A* algorithm for searching in a state space.
+ * The nodes are grouped on disk into buckets by their g and h values, and the buckets are expanded in increasing
+ * order of f value, breaking ties by the lowest g value. Successors are appended to their buckets without checking for
+ * duplicates. Since the h value of a state is fixed, a state can only be a duplicate of a state in a bucket with the
+ * same h value, so before a bucket is expanded, it is filtered against the expanded buckets with the same h value and
+ * no greater g value. The solution path is reconstructed by a backward pass over the expanded buckets.
+ *
+ * @author Yahav Karpel
+ */
+public class ExternalAStar implements Searchable {
+
+    /**
+     * This method performs external-memory A* search starting from the provided root node.
+     *
+     * @param root the root node from which the search begins.
+     * @return The target node if found, null otherwise.
+     */
+    @Override
+    public Node search(InformedDepthFirstNode root) {
+        Path directory = ExternalSearchService.createDirectory();
+        try {
+            ExternalAStarData externalAStarData = new ExternalAStarData(directory);
+            externalAStarData.getBucket(0, root.getH()).states.add(root.getBoard(), null);
+            while (!externalAStarData.pq.isEmpty()) {
+                Bucket bucket = externalAStarData.removeBucket();
+                byte[] targetBoard = expandBucket(bucket, externalAStarData);
+                if (targetBoard != null) {
+                    return ExternalSearchService.createPath(root, createBoardPath(bucket, targetBoard, externalAStarData));
+                }
+            }
+
+            return null;
+        } finally {
+            ExternalSearchService.deleteDirectory(directory);
+        }
+    }
+
+    /**
+     * This method appends the successors of the states of the provided bucket to their buckets.
+     * The target is checked once its bucket is expanded, as in the in-memory A*.
+     *
+     * @param bucket            the bucket being expanded, already filtered of duplicates.
+     * @param externalAStarData the data of the search.
+     * @return The tile ids of the target if found in the bucket, null otherwise.
+     */
+    private byte[] expandBucket(Bucket bucket, ExternalAStarData externalAStarData) {
+        byte[][] targetBoard = new byte[1][];
+        long[] numNodes = new long[1];
+        bucket.states.forEach((board, generatingOperator) -> {
+            if (bucket.h == 0 && ExternalSearchService.isTarget(board)) {
+                targetBoard[0] = board;
+                return false;
+            }
+
+            externalAStarData.recorder.recordExpansion(bucket.g + bucket.h);
+            int emptyPieceIndex = InfrastructureService.findEmptyPieceIndex(board);
+            for (Move move : SearchService.getMoves(emptyPieceIndex)) {
+                GeneratingOperator nextGeneratingOperator = move.generatingOperator();
+                if (nextGeneratingOperator.isNotOpposite(generatingOperator)) {
+                    int g = bucket.g + InfrastructureService.toPiece(board[move.nextEmptyPieceIndex()]).color().cost;
+                    int h = bucket.h + InfrastructureService.calcHDelta(board, move.nextEmptyPieceIndex(), emptyPieceIndex);
+                    byte[] nextBoard = ExternalSearchService.applyMove(board, emptyPieceIndex, move);
+                    externalAStarData.getBucket(g, h).states.add(nextBoard, nextGeneratingOperator);
+                    numNodes[0]++;
+                }
+            }
+
+            return true;
+        });
+        Node.addNumNodes(numNodes[0]);
+        return targetBoard[0];
+    }
+
+    /**
+     * This method reconstructs the states of the path from the root to the provided target by a backward pass over the
+     * expanded buckets. The predecessor of each state lies in the expanded bucket whose g value is lower by the cost of the move.
+     *
+     * @param targetBucket      the bucket of the target.
+     * @param targetBoard       the tile ids of the target.
+     * @param externalAStarData the data of the search.
+     * @return The tile ids of the states along the path, following the root.
+     */
+    private List<byte[]> createBoardPath(Bucket targetBucket, byte[] targetBoard, ExternalAStarData externalAStarData) {
+        List<byte[]> boards = new ArrayList<>();
+        byte[] board = targetBoard;
+        int g = targetBucket.g;
+        int h = targetBucket.h;
+        while (g > 0) {
+            boards.add(board);
+            int emptyPieceIndex = InfrastructureService.findEmptyPieceIndex(board);
+            for (Move move : SearchService.getMoves(emptyPieceIndex)) {
+                int previousG = g - InfrastructureService.toPiece(board[move.nextEmptyPieceIndex()]).color().cost;
+                int previousH = h + InfrastructureService.calcHDelta(board, move.nextEmptyPieceIndex(), emptyPieceIndex);
+                byte[] previousBoard = ExternalSearchService.applyMove(board, emptyPieceIndex, move);
+                if (externalAStarData.isExpanded(previousG, previousH, previousBoard)) {
+                    board = previousBoard;
+                    g = previousG;
+                    h = previousH;
+                    break;
+                }
+            }
+        }
+
+        Collections.reverse(boards);
+        return boards;
+    }
+
+    private static class Bucket {
+
+        private final int g;
+        private final int h;
+        private final ExternalStateSet states;
+
+        public Bucket(int g, int h, ExternalStateSet states) {
+            this.g = g;
+            this.h = h;
+            this.states = states;
+        }
+
+        public long getKey() {
+            return (long) g << Integer.SIZE | h;
+        }
+    }
+
+    private static class ExternalAStarData {
+
+        private final PriorityQueue<Bucket> pq = new PriorityQueue<>(Comparator.comparingInt((Bucket bucket) -> bucket.g + bucket.h)
+                                                                               .thenComparingInt(bucket -> bucket.g));
+        private final Map<Long, Bucket> openBuckets = new HashMap<>();
+        // the expanded buckets of each h value
+        private final Map<Integer, List<Bucket>> closedBuckets = new HashMap<>();
+        private final Path directory;
+        private final int numPartitions = ExternalSearchService.getNumPartitions();
+        private int numBuckets;
+
+        private final SearchMetrics.Recorder recorder = SearchMetrics.getRecorder();
+
+        public ExternalAStarData(Path directory) {
+            this.directory = directory;
+        }
+
+        public Bucket getBucket(int g, int h) {
+            return openBuckets.computeIfAbsent((long) g << Integer.SIZE | h, key -> {
+                Bucket bucket = new Bucket(g, h, new ExternalStateSet(directory, "bucket" + numBuckets++, numPartitions));
+                pq.add(bucket);
+                return bucket;
+            });
+        }
+
+        public Bucket removeBucket() {
+            Bucket bucket = pq.remove();
+            openBuckets.remove(bucket.getKey());
+            List<Bucket> sameHBuckets = closedBuckets.computeIfAbsent(bucket.h, h -> new ArrayList<>());
+            List<ExternalStateSet> visitedSets = new ArrayList<>();
+            for (Bucket closedBucket : sameHBuckets) {
+                if (closedBucket.g <= bucket.g) {
+                    visitedSets.add(closedBucket.states);
+                }
+            }
+
+            long numNodes = bucket.states.size();
+            bucket.states.removeDuplicates(visitedSets);
+            recorder.recordDuplicates(numNodes - bucket.states.size());
+            sameHBuckets.add(bucket);
+            return bucket;
+        }
+
+        public boolean isExpanded(int g, int h, byte[] board) {
+            for (Bucket closedBucket : closedBuckets.getOrDefault(h, Collections.emptyList())) {
+                if (closedBucket.g == g && closedBucket.states.contains(board)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package search;
+
+import component.GeneratingOperator;
+import component.Move;
+import infrastructure.ExternalStateSet;
+import infrastructure.InformedDepthFirstNode;
+import infrastructure.Node;
+import infrastructure.SearchMetrics;
+import service.ExternalSearchService;
+import service.InfrastructureService;
+import service.SearchService;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class represents an external-memory variant of Breadth-First Search algorithm for searching in a state space.
+ * Each layer of the search is kept on disk. The successors of a layer are appended to the next layer without checking
+ * for duplicates, which are removed once the layer is complete. Since every move can be reversed, a successor can only
+ * be a duplicate of a state in the same layer or in the two previous layers. The solution path is reconstructed by
+ * a backward pass over the layers, looking for a predecessor of each state in the previous layer.
+ *
+ * @author Yahav Karpel
+ */
+public class ExternalBFS implements Searchable {
+
+    /**
+     * This method performs external-memory BFS starting from the provided root node.
+     *
+     * @param root the root node from which the search begins.
+     * @return The target node if found, null otherwise.
+     */
+    @Override
+    public Node search(InformedDepthFirstNode root) {
+        Path directory = ExternalSearchService.createDirectory();
+        try {
+            SearchMetrics.Recorder recorder = SearchMetrics.getRecorder();
+            int numPartitions = ExternalSearchService.getNumPartitions();
+            List<ExternalStateSet> layers = new ArrayList<>();
+            ExternalStateSet layer = new ExternalStateSet(directory, "layer0", numPartitions);
+            layer.add(root.getBoard(), null);
+            layers.add(layer);
+            while (!layer.isEmpty()) {
+                ExternalStateSet nextLayer = new ExternalStateSet(directory, "layer" + layers.size(), numPartitions);
+                recorder.recordExpansions(layer.size());
+                byte[] targetBoard = expandLayer(layer, nextLayer);
+                if (targetBoard != null) {
+                    return ExternalSearchService.createPath(root, createBoardPath(layers, targetBoard));
+                }
+
+                List<ExternalStateSet> visitedLayers = layers.subList(Math.max(0, layers.size() - 2), layers.size());
+                long numNextNodes = nextLayer.size();
+                nextLayer.removeDuplicates(visitedLayers);
+                recorder.recordDuplicates(numNextNodes - nextLayer.size());
+                recorder.recordOpenSize(nextLayer.size());
+                layers.add(nextLayer);
+                layer = nextLayer;
+            }
+
+            return null;
+        } finally {
+            ExternalSearchService.deleteDirectory(directory);
+        }
+    }
+
+    /**
+     * This method appends the successors of the states of the provided layer to the next layer.
+     * The target is checked once generated, as in the in-memory BFS.
+     *
+     * @param layer     the layer being expanded.
+     * @param nextLayer the layer of the successors.
+     * @return The tile ids of the target if generated, null otherwise.
+     */
+    private byte[] expandLayer(ExternalStateSet layer, ExternalStateSet nextLayer) {
+        byte[][] targetBoard = new byte[1][];
+        long[] numNodes = new long[1];
+        layer.forEach((board, generatingOperator) -> {
+            int emptyPieceIndex = InfrastructureService.findEmptyPieceIndex(board);
+            for (Move move : SearchService.getMoves(emptyPieceIndex)) {
+                GeneratingOperator nextGeneratingOperator = move.generatingOperator();
+                if (nextGeneratingOperator.isNotOpposite(generatingOperator)) {
+                    byte[] nextBoard = ExternalSearchService.applyMove(board, emptyPieceIndex, move);
+                    numNodes[0]++;
+                    if (ExternalSearchService.isTarget(nextBoard)) {
+                        targetBoard[0] = nextBoard;
+                        return false;
+                    }
+
+                    nextLayer.add(nextBoard, nextGeneratingOperator);
+                }
+            }
+
+            return true;
+        });
+        Node.addNumNodes(numNodes[0]);
+        return targetBoard[0];
+    }
+
+    /**
+     * This method reconstructs the states of the path from the root to the provided target by a backward pass over the layers.
+     *
+     * @param layers      the expanded layers, ordered by depth.
+     * @param targetBoard the tile ids of the target, which follows the last layer.
+     * @return The tile ids of the states along the path, following the root.
+     */
+    private List<byte[]> createBoardPath(List<ExternalStateSet> layers, byte[] targetBoard) {
+        List<byte[]> boards = new ArrayList<>();
+        byte[] board = targetBoard;
+        for (int depth = layers.size() - 1; depth >= 0; depth--) {
+            boards.add(board);
+            int emptyPieceIndex = InfrastructureService.findEmptyPieceIndex(board);
+            for (Move move : SearchService.getMoves(emptyPieceIndex)) {
+                byte[] previousBoard = ExternalSearchService.applyMove(board, emptyPieceIndex, move);
+                if (layers.get(depth).contains(previousBoard)) {
+                    board = previousBoard;
+                    break;
+                }
+            }
+        }
+
+        Collections.reverse(boards);
+        return boards;
+    }
+}
@@ -0,0 +1,228 @@
+package search;
+
+import component.Move;
+import constants.SearchConstants;
+import infrastructure.BucketQueue;
+import infrastructure.InformedDepthFirstNode;
+import infrastructure.InformedNode;
+import infrastructure.Node;
+import infrastructure.SearchMetrics;
+import infrastructure.StateTable;
+import service.SearchService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class represents Hash-Distributed A* algorithm for searching in a state space on all available cores.
+ * Each worker owns the states whose key hashes to it, together with their open list and history. Generated nodes
+ * are sent to the inbox of their owner through a lock-free queue. Since workers expand nodes out of global order,
+ * a state reached again more cheaply is reopened, and nodes that cannot beat the best target found so far are pruned.
+ * The search terminates once no worker has work left and no node is in flight, at which point the best target is optimal.
+ *
+ * @author Yahav Karpel
+ */
+public class HDAStar implements Searchable {
+
+    private final int numWorkers = Integer.getInteger(SearchConstants.THREADS_PROPERTY, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * This method performs HDA* search starting from the provided root node.
+     *
+     * @param root the root node from which the search begins.
+     * @return The target node if found, null otherwise.
+     */
+    @Override
+    public Node search(InformedDepthFirstNode root) {
+        HDAStarData hdaStarData = new HDAStarData(numWorkers);
+        root.updateF();
+        hdaStarData.send(root);
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int i = 0; i < numWorkers; i++) {
+            workers.add(new Worker(i, hdaStarData));
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(numWorkers);
+        try {
+            for (Future<Void> future : executorService.invokeAll(workers)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        return hdaStarData.getTargetNode();
+    }
+
+    private static class Worker implements Callable<Void> {
+
+        private final int index;
+        private final HDAStarData hdaStarData;
+        private final BucketQueue<InformedNode> pq = new BucketQueue<>();
+        private final StateTable<InformedNode> history = new StateTable<>();
+        private SearchMetrics.Recorder recorder;
+        private boolean idle;
+
+        public Worker(int index, HDAStarData hdaStarData) {
+            this.index = index;
+            this.hdaStarData = hdaStarData;
+        }
+
+        @Override
+        public Void call() {
+            recorder = SearchMetrics.getRecorder();
+            while (!hdaStarData.isTerminated()) {
+                receiveNodes();
+                InformedNode node = removeNode();
+                if (node == null) {
+                    becomeIdle();
+                } else if (node.isTarget()) {
+                    hdaStarData.offerTargetNode(node);
+                } else {
+                    recorder.recordExpansion(node.getF());
+                    recorder.recordOpenSize(pq.size());
+                    recorder.recordClosedSize(history.size());
+                    visitNeighbors(node);
+                }
+            }
+
+            return null;
+        }
+
+        private void receiveNodes() {
+            Queue<InformedNode> inbox = hdaStarData.inboxes.get(index);
+            if (inbox.isEmpty()) {
+                return;
+            }
+
+            if (idle) {
+                hdaStarData.workload.incrementAndGet();
+                idle = false;
+            }
+
+            InformedNode node;
+            while ((node = inbox.poll()) != null) {
+                processNeighbor(node);
+                hdaStarData.workload.decrementAndGet();
+            }
+        }
+
+        private InformedNode removeNode() {
+            while (!pq.isEmpty()) {
+                InformedNode node = pq.remove();
+                if (history.get(node.getKey()) == node && node.getF() < hdaStarData.getSearchLimit()) {
+                    return node;
+                }
+            }
+
+            return null;
+        }
+
+        private void becomeIdle() {
+            if (!idle) {
+                idle = true;
+                if (hdaStarData.workload.decrementAndGet() == 0) {
+                    hdaStarData.terminate();
+                }
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+
+        private void visitNeighbors(InformedNode node) {
+            for (Move move : SearchService.getMoves(node)) {
+                InformedNode neighbor = SearchService.expandNode(node, move);
+                if (neighbor != null) {
+                    neighbor.updateF();
+                    if (neighbor.getF() < hdaStarData.getSearchLimit()) {
+                        if (hdaStarData.findOwner(neighbor) == index) {
+                            processNeighbor(neighbor);
+                        } else {
+                            hdaStarData.send(neighbor);
+                        }
+                    }
+                }
+            }
+        }
+
+        private void processNeighbor(InformedNode neighbor) {
+            InformedNode node = history.putIfAbsent(neighbor);
+            if (node == null) {
+                pq.add(neighbor);
+            } else if (neighbor.getWeight() < node.getWeight()) {
+                history.put(neighbor);
+                pq.add(neighbor);
+                recorder.recordReopening();
+            } else {
+                recorder.recordDuplicate();
+            }
+        }
+    }
+
+    private static class HDAStarData {
+
+        private final List<Queue<InformedNode>> inboxes = new ArrayList<>();
+        // the number of busy workers plus the number of nodes in flight
+        private final AtomicLong workload;
+        private final AtomicReference<Node> targetNode = new AtomicReference<>();
+        private volatile boolean terminated;
+
+        public HDAStarData(int numWorkers) {
+            for (int i = 0; i < numWorkers; i++) {
+                inboxes.add(new ConcurrentLinkedQueue<>());
+            }
+
+            workload = new AtomicLong(numWorkers);
+        }
+
+        public int findOwner(InformedNode node) {
+            // the high bits are used, since the low bits pick the slot in the history of the owner
+            return (int) (((node.getKey().hash64() >>> 32) * inboxes.size()) >>> 32);
+        }
+
+        public void send(InformedNode node) {
+            workload.incrementAndGet();
+            inboxes.get(findOwner(node)).add(node);
+        }
+
+        public void offerTargetNode(Node node) {
+            Node current;
+            do {
+                current = targetNode.get();
+                if (current != null && current.getWeight() <= node.getWeight()) {
+                    return;
+                }
+            } while (!targetNode.compareAndSet(current, node));
+        }
+
+        public Node getTargetNode() {
+            return targetNode.get();
+        }
+
+        public int getSearchLimit() {
+            Node node = targetNode.get();
+            return node == null ? Integer.MAX_VALUE : node.getWeight();
+        }
+
+        public boolean isTerminated() {
+            return terminated;
+        }
+
+        public void terminate() {
+            terminated = true;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package search;
 
-import component.GeneratingOperator;
+import component.Move;
+import event.IterationCompletedEvent;
 import infrastructure.InformedDepthFirstNode;
 import infrastructure.Node;
+import infrastructure.SearchMetrics;
+import infrastructure.StateKey;
+import jdk.jfr.FlightRecorder;
 import service.SearchService;
 
 import java.util.HashMap;
@@ -19,6 +23,8 @@ import static constants.SearchConstants.TARGET;
  */
 public class IDAStar implements Searchable {
 
+    private SearchMetrics.Recorder recorder;
+
     /**
      * This method performs IDA* search starting from the provided root node.
      *
@@ -28,21 +34,32 @@ public class IDAStar implements Searchable {
     @Override
     public Node search(InformedDepthFirstNode root) {
         Stack<InformedDepthFirstNode> stack = new Stack<>();
-        Map<String, InformedDepthFirstNode> loopAvoidance = new HashMap<>();
+        Map<StateKey, InformedDepthFirstNode> loopAvoidance = new HashMap<>();
         IDAStarData idaStarData = new IDAStarData();
-        idaStarData.setSearchLimit(root.calcF());
+        recorder = SearchMetrics.getRecorder();
+        root.updateF();
+        idaStarData.setSearchLimit(root.getF());
         while (idaStarData.getSearchLimit() < Integer.MAX_VALUE) {
+            IterationCompletedEvent iterationEvent = FlightRecorder.isInitialized() ? new IterationCompletedEvent() : null;
+            if (iterationEvent != null) {
+                iterationEvent.begin();
+            }
+
+            long numExpandedNodes = recorder.getNumExpandedNodes();
+            recorder.recordBound(idaStarData.getSearchLimit());
             idaStarData.resetMinF();
             root.unmark();
             stack.push(root);
-            loopAvoidance.put(root.toString(), root);
+            loopAvoidance.put(root.getKey(), root);
             while (!stack.isEmpty()) {
                 InformedDepthFirstNode node = stack.pop();
                 if (node.isMarked()) {
-                    loopAvoidance.remove(node.toString());
+                    loopAvoidance.remove(node.getKey());
                 } else {
                     node.mark();
                     stack.push(node);
+                    recorder.recordExpansion(node.getF());
+                    recorder.recordOpenSize(stack.size());
                     Node targetNode = visitNeighbors(node, stack, loopAvoidance, idaStarData);
                     if (targetNode != null) {
                         return targetNode;
@@ -50,6 +67,13 @@ public class IDAStar implements Searchable {
                 }
             }
 
+            if (iterationEvent != null && iterationEvent.shouldCommit()) {
+                iterationEvent.threshold = idaStarData.getSearchLimit();
+                iterationEvent.nextThreshold = idaStarData.getMinF();
+                iterationEvent.numExpandedNodes = recorder.getNumExpandedNodes() - numExpandedNodes;
+                iterationEvent.commit();
+            }
+
             idaStarData.updateSearchLimit();
         }
 
@@ -65,9 +89,9 @@ public class IDAStar implements Searchable {
      * @param idaStarData   the data object storing the current search limit and minF tracking.
      * @return The target node if found, null otherwise.
      */
-    private Node visitNeighbors(InformedDepthFirstNode node, Stack<InformedDepthFirstNode> stack, Map<String, InformedDepthFirstNode> loopAvoidance, IDAStarData idaStarData) {
-        for (GeneratingOperator generatingOperator : GeneratingOperator.values()) {
-            InformedDepthFirstNode neighbor = SearchService.expandNode(node, generatingOperator);
+    private Node visitNeighbors(InformedDepthFirstNode node, Stack<InformedDepthFirstNode> stack, Map<StateKey, InformedDepthFirstNode> loopAvoidance, IDAStarData idaStarData) {
+        for (Move move : SearchService.getMoves(node)) {
+            InformedDepthFirstNode neighbor = SearchService.expandNode(node, move);
             if (neighbor != null && processNeighbor(neighbor, stack, loopAvoidance, idaStarData)) {
                 return neighbor;
             }
@@ -85,19 +109,21 @@ public class IDAStar implements Searchable {
      * @param idaStarData   the data object storing the current search limit and minF tracking.
      * @return true if the neighbor represents the target, false otherwise.
      */
-    private boolean processNeighbor(InformedDepthFirstNode neighbor, Stack<InformedDepthFirstNode> stack, Map<String, InformedDepthFirstNode> loopAvoidance, IDAStarData idaStarData) {
+    private boolean processNeighbor(InformedDepthFirstNode neighbor, Stack<InformedDepthFirstNode> stack, Map<StateKey, InformedDepthFirstNode> loopAvoidance, IDAStarData idaStarData) {
         neighbor.updateF();
         int neighborF = neighbor.getF();
         if (neighborF > idaStarData.getSearchLimit()) {
             idaStarData.tryReducingMinF(neighborF);
         } else {
-            String neighborCode = neighbor.toString();
-            String tag = SearchService.tagNeighbor(neighbor, neighborCode, loopAvoidance);
+            StateKey neighborKey = neighbor.getKey();
+            String tag = SearchService.tagNeighbor(neighbor, neighborKey, loopAvoidance);
             if (POTENTIAL.equals(tag)) {
                 stack.push(neighbor);
-                loopAvoidance.put(neighborCode, neighbor);
+                loopAvoidance.put(neighborKey, neighbor);
+            } else if (TARGET.equals(tag)) {
+                return true;
             } else {
-                return TARGET.equals(tag);
+                recorder.recordDuplicate();
             }
         }
 
@@ -131,6 +157,10 @@ public class IDAStar implements Searchable {
             this.searchLimit = searchLimit;
         }
 
+        public int getMinF() {
+            return minF;
+        }
+
         public void setMinF(int minF) {
             this.minF = minF;
         }
@@ -1,8 +1,10 @@
 package search;
 
-import component.GeneratingOperator;
+import component.Move;
 import infrastructure.InformedDepthFirstNode;
 import infrastructure.Node;
+import infrastructure.SearchMetrics;
+import infrastructure.StateKey;
 import service.SearchService;
 
 import java.util.HashMap;
@@ -17,6 +19,8 @@ public class IDDFS implements Searchable {
 
     private static final int DEPTH_LIMIT = 40;
 
+    private SearchMetrics.Recorder recorder;
+
     /**
      * This method performs IDDFS starting from the provided root node.
      *
@@ -25,6 +29,7 @@ public class IDDFS implements Searchable {
      */
     @Override
     public Node search(InformedDepthFirstNode root) {
+        recorder = SearchMetrics.getRecorder();
         for (int i = 1; i < DEPTH_LIMIT; i++) {
             Node targetNode = depthLimitedSearch(root, i, new HashMap<>());
             if (targetNode != null) {
@@ -43,17 +48,24 @@ public class IDDFS implements Searchable {
      * @param loopAvoidance the map that tracks visited nodes to prevent cycles during the search.
      * @return The target node if found, or null if depth limit reached.
      */
-    private Node depthLimitedSearch(Node node, int depth, Map<String, Node> loopAvoidance) {
+    private Node depthLimitedSearch(Node node, int depth, Map<StateKey, Node> loopAvoidance) {
         if (node.isTarget()) {
             return node;
         }
 
         if (depth > 0) {
-            String nodeCode = node.toString();
-            loopAvoidance.put(nodeCode, node);
-            for (GeneratingOperator generatingOperator : GeneratingOperator.values()) {
-                Node neighbor = SearchService.expandNode(node, generatingOperator);
-                if (neighbor != null && !loopAvoidance.containsKey(neighbor.toString())) {
+            StateKey nodeKey = node.getKey();
+            loopAvoidance.put(nodeKey, node);
+            recorder.recordExpansion(node.getWeight());
+            recorder.recordOpenSize(loopAvoidance.size());
+            for (Move move : SearchService.getMoves(node)) {
+                Node neighbor = SearchService.expandNode(node, move);
+                if (neighbor != null) {
+                    if (loopAvoidance.containsKey(neighbor.getKey())) {
+                        recorder.recordDuplicate();
+                        continue;
+                    }
+
                     Node targetNode = depthLimitedSearch(neighbor, depth - 1, loopAvoidance);
                     if (targetNode != null) {
                         return targetNode;
@@ -61,7 +73,7 @@ public class IDDFS implements Searchable {
                 }
             }
 
-            loopAvoidance.remove(nodeCode);
+            loopAvoidance.remove(nodeKey);
         }
 
         return null;
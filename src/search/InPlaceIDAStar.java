@@ -0,0 +1,74 @@
+package search;
+
+import component.Move;
+import infrastructure.InformedDepthFirstNode;
+import infrastructure.Node;
+import infrastructure.SearchMetrics;
+
+/**
+ * This class represents an allocation-free variant of Iterative-Deepening A* algorithm for searching in a state space.
+ * A single board is updated in place by making and unmaking moves, while the g and h values and the applied moves
+ * are kept on an explicit primitive stack. Moves leading back to a state on the path are rejected by comparing per-depth keys
+ * of the board instead of tracking the path states.
+ * Node objects are created only for the solution path once the target is found.
+ *
+ * @author Yahav Karpel
+ */
+public class InPlaceIDAStar implements Searchable {
+
+    /**
+     * This method performs in-place IDA* search starting from the provided root node.
+     *
+     * @param root the root node from which the search begins.
+     * @return The target node if found, null otherwise.
+     */
+    @Override
+    public Node search(InformedDepthFirstNode root) {
+        SearchStack searchStack = new SearchStack(root);
+        SearchMetrics.Recorder recorder = SearchMetrics.getRecorder();
+        Node targetNode = null;
+        int searchLimit = root.getH();
+        while (targetNode == null && searchLimit < Integer.MAX_VALUE) {
+            searchLimit = boundedSearch(searchStack, searchLimit, recorder);
+            if (searchStack.isTargetFound()) {
+                targetNode = searchStack.createPath(root);
+            }
+        }
+
+        Node.addNumNodes(searchStack.getNumNodes());
+        return targetNode;
+    }
+
+    /**
+     * This method performs a single depth-first iteration bounded by the provided search limit.
+     *
+     * @param searchStack the stack holding the board and the current path.
+     * @param searchLimit the maximal f value of the nodes visited in the iteration.
+     * @param recorder    the recorder of the search metrics.
+     * @return The minimal f value exceeding the search limit, or the search limit itself if the target is found.
+     */
+    private int boundedSearch(SearchStack searchStack, int searchLimit, SearchMetrics.Recorder recorder) {
+        int minF = Integer.MAX_VALUE;
+        searchStack.reset();
+        recorder.recordExpansion(searchStack.getF());
+        while (searchStack.getDepth() >= 0) {
+            Move move = searchStack.nextMove();
+            if (move == null) {
+                searchStack.unmakeMove();
+                continue;
+            }
+
+            int f = searchStack.makeMove(move);
+            if (f > searchLimit) {
+                minF = Math.min(minF, f);
+                searchStack.unmakeMove();
+            } else if (searchStack.isTargetFound()) {
+                return searchLimit;
+            } else {
+                recorder.recordExpansion(f);
+            }
+        }
+
+        return minF;
+    }
+}
@@ -0,0 +1,207 @@
+package search;
+
+import component.Move;
+import heuristic.Heuristic;
+import heuristic.ManhattanDistance;
+import infrastructure.InformedDepthFirstNode;
+import infrastructure.InformedNode;
+import infrastructure.Node;
+import infrastructure.SearchMetrics;
+import infrastructure.StateTable;
+import service.InfrastructureService;
+import service.SearchService;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * This class represents MM algorithm, a bidirectional heuristic search that is guaranteed to meet in the middle.
+ * Since every move can be reversed at the same cost, a backward search starts from the target pattern, guided by the
+ * weighted Manhattan distance to the input board, while the forward search is guided by the selected heuristic.
+ * Nodes are prioritized by the maximum of their f value and twice their g value, so neither search passes the middle
+ * of an optimal path. Whenever a search generates a state already reached by the opposite search, the path through
+ * that state is a candidate solution. The search terminates once the cheapest candidate is no more costly than
+ * the lowest priority of both searches, which is a lower bound on the cost of any path not yet found.
+ *
+ * @author Yahav Karpel
+ */
+public class MM implements Searchable {
+
+    /**
+     * This method performs MM search starting from the provided root node.
+     *
+     * @param root the root node from which the search begins.
+     * @return The target node if found, null otherwise.
+     */
+    @Override
+    public Node search(InformedDepthFirstNode root) {
+        Direction forward = new Direction(root, InfrastructureService.getHeuristic());
+        Direction backward = new Direction(createTargetRoot(root), new ManhattanDistance(root.getBoard()));
+        MMData mmData = new MMData();
+        while (!forward.isEmpty() && !backward.isEmpty()) {
+            int minPriority = Math.min(forward.getMinPriority(), backward.getMinPriority());
+            if (mmData.getSolutionCost() <= minPriority) {
+                break;
+            }
+
+            if (forward.getMinPriority() <= backward.getMinPriority()) {
+                expandNode(forward, backward, mmData, true);
+            } else {
+                expandNode(backward, forward, mmData, false);
+            }
+        }
+
+        return mmData.forwardNode == null ? null : createPath(mmData.forwardNode, mmData.backwardNode);
+    }
+
+    /**
+     * This method creates the root node of the backward search, which holds the target pattern.
+     *
+     * @param root the root node of the forward search.
+     * @return The root node of the backward search.
+     */
+    private InformedDepthFirstNode createTargetRoot(InformedDepthFirstNode root) {
+        byte[] targetBoard = new byte[root.getBoard().length];
+        for (int i = 0; i < targetBoard.length; i++) {
+            targetBoard[i] = (byte) i;
+        }
+
+        InformedDepthFirstNode targetRoot = new InformedDepthFirstNode(InfrastructureService.decodeBoard(targetBoard));
+        // the h value of the target with respect to the selected heuristic is zero, so it is replaced by the distance to the input board
+        targetRoot.updateH(new ManhattanDistance(root.getBoard()).h(targetBoard) - targetRoot.getH());
+        return targetRoot;
+    }
+
+    /**
+     * This method expands the node of the provided search with the lowest priority.
+     *
+     * @param direction the search whose node is expanded.
+     * @param opposite  the opposite search.
+     * @param mmData    the data of the search.
+     * @param isForward true if the expanded search is the forward search, false otherwise.
+     */
+    private void expandNode(Direction direction, Direction opposite, MMData mmData, boolean isForward) {
+        InformedNode node = direction.pq.remove();
+        direction.frontier.remove(node.getKey());
+        direction.history.put(node);
+        mmData.recorder.recordExpansion(calcPriority(node));
+        mmData.recorder.recordOpenSize(direction.frontier.size() + opposite.frontier.size());
+        mmData.recorder.recordClosedSize(direction.history.size() + opposite.history.size());
+        for (Move move : SearchService.getMoves(node)) {
+            InformedNode neighbor = SearchService.expandNode(node, move, direction.heuristic);
+            if (neighbor != null && direction.isPromisingCandidate(neighbor, mmData.recorder)) {
+                InformedNode oppositeNode = opposite.get(neighbor);
+                if (oppositeNode != null) {
+                    mmData.offerSolution(isForward ? neighbor : oppositeNode, isForward ? oppositeNode : neighbor);
+                }
+            }
+        }
+    }
+
+    /**
+     * This method creates the solution path by continuing the forward node along the path of the backward node to the target.
+     * The nodes created for the continuation are deducted from the number of nodes created, so they are not counted twice.
+     *
+     * @param forwardNode  the node of the meeting state reached by the forward search.
+     * @param backwardNode the node of the meeting state reached by the backward search.
+     * @return The target node.
+     */
+    private Node createPath(Node forwardNode, Node backwardNode) {
+        Node node = forwardNode;
+        int numPathNodes = 0;
+        for (Node next = backwardNode.getParent(); next != null; next = next.getParent()) {
+            for (Move move : SearchService.getMoves(node)) {
+                if (move.nextEmptyPieceIndex() == next.getEmptyPieceIndex()) {
+                    node = SearchService.expandNode(node, move);
+                    numPathNodes++;
+                    break;
+                }
+            }
+        }
+
+        Node.addNumNodes(-numPathNodes);
+        return node;
+    }
+
+    /**
+     * This method calculates the priority of the provided node, namely the maximum of its f value and twice its g value.
+     *
+     * @param node the node.
+     * @return The priority of the node.
+     */
+    private static int calcPriority(InformedNode node) {
+        return Math.max(node.getWeight() + node.getH(), 2 * node.getWeight());
+    }
+
+    private static class Direction {
+
+        private final PriorityQueue<InformedNode> pq = new PriorityQueue<>(Comparator.comparingInt(MM::calcPriority)
+                                                                                     .thenComparingInt(Node::getWeight));
+        private final StateTable<InformedNode> frontier = new StateTable<>();
+        private final StateTable<InformedNode> history = new StateTable<>();
+        private final Heuristic heuristic;
+
+        public Direction(InformedNode root, Heuristic heuristic) {
+            this.heuristic = heuristic;
+            pq.add(root);
+            frontier.put(root);
+        }
+
+        public boolean isEmpty() {
+            skipStaleNodes();
+            return pq.isEmpty();
+        }
+
+        public int getMinPriority() {
+            skipStaleNodes();
+            return pq.isEmpty() ? Integer.MAX_VALUE : calcPriority(pq.peek());
+        }
+
+        private void skipStaleNodes() {
+            while (!pq.isEmpty() && frontier.get(pq.peek().getKey()) != pq.peek()) {
+                pq.remove();
+            }
+        }
+
+        public InformedNode get(InformedNode node) {
+            InformedNode frontierNode = frontier.get(node.getKey());
+            return frontierNode != null ? frontierNode : history.get(node.getKey());
+        }
+
+        public boolean isPromisingCandidate(InformedNode neighbor, SearchMetrics.Recorder recorder) {
+            InformedNode node = get(neighbor);
+            if (node != null && node.getWeight() <= neighbor.getWeight()) {
+                recorder.recordDuplicate();
+                return false;
+            }
+
+            // a state reached again more cheaply is reopened
+            if (history.remove(neighbor.getKey()) != null) {
+                recorder.recordReopening();
+            }
+
+            frontier.put(neighbor);
+            pq.add(neighbor);
+            return true;
+        }
+    }
+
+    private static class MMData {
+
+        private final SearchMetrics.Recorder recorder = SearchMetrics.getRecorder();
+
+        private Node forwardNode;
+        private Node backwardNode;
+
+        public int getSolutionCost() {
+            return forwardNode == null ? Integer.MAX_VALUE : forwardNode.getWeight() + backwardNode.getWeight();
+        }
+
+        public void offerSolution(Node forwardNode, Node backwardNode) {
+            if (forwardNode.getWeight() + backwardNode.getWeight() < getSolutionCost()) {
+                this.forwardNode = forwardNode;
+                this.backwardNode = backwardNode;
+            }
+        }
+    }
+}
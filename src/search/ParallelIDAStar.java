@@ -0,0 +1,140 @@
+package search;
+
+import component.Move;
+import constants.SearchConstants;
+import infrastructure.InformedDepthFirstNode;
+import infrastructure.InformedNode;
+import infrastructure.Node;
+import infrastructure.SearchMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class represents a work-stealing parallel variant of Iterative-Deepening A* algorithm for searching in a state space.
+ * Each iteration starts as a single in-place depth-first task. Whenever the local queue of the running worker is nearly empty,
+ * a task splits off the subtree of its next child as a new task, so idle workers steal work from the unbalanced colored
+ * trees instead of waiting on a static partition. A split-off task seeds its stack with the keys of its ancestors, taken from
+ * the parent chain of its root, so cycles through the split point are rejected as well. The minimal f value exceeding the
+ * search limit is shared among the tasks, and once any task finds the target, all other tasks of the iteration stop.
+ * Since every target found within the search limit of an iteration has the minimal cost, the first target found is optimal.
+ *
+ * @author Yahav Karpel
+ */
+public class ParallelIDAStar implements Searchable {
+
+    // the maximal number of queued tasks of a worker below which a new task is split off
+    private static final int SURPLUS_THRESHOLD = 2;
+
+    private final int numWorkers = Integer.getInteger(SearchConstants.THREADS_PROPERTY, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * This method performs parallel IDA* search starting from the provided root node.
+     *
+     * @param root the root node from which the search begins.
+     * @return The target node if found, null otherwise.
+     */
+    @Override
+    public Node search(InformedDepthFirstNode root) {
+        if (root.isTarget()) {
+            return root;
+        }
+
+        ForkJoinPool forkJoinPool = new ForkJoinPool(numWorkers);
+        ParallelIDAStarData parallelIDAStarData = new ParallelIDAStarData(root.getH());
+        try {
+            while (parallelIDAStarData.getTargetNode() == null && parallelIDAStarData.getSearchLimit() < Integer.MAX_VALUE) {
+                forkJoinPool.invoke(new SubtreeTask(root, parallelIDAStarData));
+                parallelIDAStarData.updateSearchLimit();
+            }
+        } finally {
+            forkJoinPool.shutdownNow();
+        }
+
+        return parallelIDAStarData.getTargetNode();
+    }
+
+    private static class SubtreeTask extends RecursiveAction {
+
+        private final InformedNode root;
+        private final ParallelIDAStarData parallelIDAStarData;
+
+        public SubtreeTask(InformedNode root, ParallelIDAStarData parallelIDAStarData) {
+            this.root = root;
+            this.parallelIDAStarData = parallelIDAStarData;
+        }
+
+        @Override
+        protected void compute() {
+            SearchStack searchStack = new SearchStack(root);
+            SearchMetrics.Recorder recorder = SearchMetrics.getRecorder();
+            List<SubtreeTask> subtreeTasks = new ArrayList<>();
+            int searchLimit = parallelIDAStarData.getSearchLimit();
+            int minF = Integer.MAX_VALUE;
+            recorder.recordExpansion(searchStack.getF());
+            while (searchStack.getDepth() >= 0 && parallelIDAStarData.getTargetNode() == null) {
+                Move move = searchStack.nextMove();
+                if (move == null) {
+                    searchStack.unmakeMove();
+                    continue;
+                }
+
+                int f = searchStack.makeMove(move);
+                if (f > searchLimit) {
+                    minF = Math.min(minF, f);
+                    searchStack.unmakeMove();
+                } else if (searchStack.isTargetFound()) {
+                    parallelIDAStarData.offerTargetNode(searchStack.createPath(root));
+                } else if (getSurplusQueuedTaskCount() < SURPLUS_THRESHOLD) {
+                    SubtreeTask subtreeTask = new SubtreeTask((InformedNode) searchStack.createPath(root), parallelIDAStarData);
+                    subtreeTask.fork();
+                    subtreeTasks.add(subtreeTask);
+                    searchStack.unmakeMove();
+                } else {
+                    recorder.recordExpansion(f);
+                }
+            }
+
+            parallelIDAStarData.offerMinF(minF);
+            Node.addNumNodes(searchStack.getNumNodes());
+            for (SubtreeTask subtreeTask : subtreeTasks) {
+                subtreeTask.join();
+            }
+        }
+    }
+
+    private static class ParallelIDAStarData {
+
+        private final AtomicInteger minF = new AtomicInteger(Integer.MAX_VALUE);
+        private final AtomicReference<Node> targetNode = new AtomicReference<>();
+        private volatile int searchLimit;
+
+        public ParallelIDAStarData(int searchLimit) {
+            this.searchLimit = searchLimit;
+        }
+
+        public int getSearchLimit() {
+            return searchLimit;
+        }
+
+        public void updateSearchLimit() {
+            searchLimit = minF.getAndSet(Integer.MAX_VALUE);
+        }
+
+        public void offerMinF(int f) {
+            minF.accumulateAndGet(f, Math::min);
+        }
+
+        public Node getTargetNode() {
+            return targetNode.get();
+        }
+
+        public void offerTargetNode(Node node) {
+            targetNode.compareAndSet(null, node);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package search;
+
+import component.GeneratingOperator;
+import component.Move;
+import constants.SearchConstants;
+import infrastructure.InformedDepthFirstNode;
+import infrastructure.InformedNode;
+import infrastructure.Node;
+import infrastructure.SearchMetrics;
+import infrastructure.StateTable;
+import service.SearchService;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * This class represents Simplified Memory-Bounded A* algorithm for searching in a state space with a bounded number of nodes.
+ * The search tree is kept in memory and grown like A*, from the lowest f value and the deepest node among equals.
+ * Once the node budget is reached, the leaf with the highest f value (the shallowest among equals) is dropped,
+ * and its f value is backed up into its parent, which keeps the cheapest f value of its dropped children and regenerates
+ * them once that value becomes the lowest again. The f values are also backed up from the children to their parents,
+ * so they only grow as the search learns. A child whose state is already in memory at no greater cost is skipped,
+ * since its subtree is covered by the node in memory. As long as the optimal path fits in the budget, the solution is optimal.
+ *
+ * @author Yahav Karpel
+ */
+public class SMAStar implements Searchable {
+
+    private static final int INFINITE_F = Integer.MAX_VALUE;
+
+    private final long nodeBudget = Math.max(Long.getLong(SearchConstants.SMA_NODE_BUDGET_PROPERTY, SearchConstants.DEFAULT_SMA_NODE_BUDGET), 2);
+    private SMAStarData smaStarData;
+
+    /**
+     * This method performs SMA* search starting from the provided root node.
+     *
+     * @param root the root node from which the search begins.
+     * @return The target node if found within the node budget, null otherwise.
+     */
+    @Override
+    public Node search(InformedDepthFirstNode root) {
+        smaStarData = new SMAStarData(nodeBudget);
+        root.updateF();
+        MemoryNode rootMemoryNode = new MemoryNode(root, null, root.getF(), smaStarData.numMemoryNodesCreated++);
+        smaStarData.add(rootMemoryNode);
+        while (!smaStarData.open.isEmpty()) {
+            MemoryNode memoryNode = smaStarData.open.first();
+            if (memoryNode.calcOpenF() == INFINITE_F) {
+                return null;
+            }
+
+            if (!memoryNode.expanded && memoryNode.node.isTarget()) {
+                return memoryNode.node;
+            }
+
+            expand(memoryNode, smaStarData);
+        }
+
+        return null;
+    }
+
+    /**
+     * This method generates the children of the provided node that are not in memory, making room for each of them
+     * by dropping the worst leaf. A child worse than every leaf is dropped right away instead.
+     *
+     * @param parent      the node being expanded.
+     * @param smaStarData the data object storing the search tree.
+     */
+    private void expand(MemoryNode parent, SMAStarData smaStarData) {
+        smaStarData.open.remove(parent);
+        smaStarData.leaves.remove(parent);
+        smaStarData.expandedNode = parent;
+        smaStarData.recorder.recordExpansion(parent.f);
+        parent.expanded = true;
+        parent.forgottenF = INFINITE_F;
+        for (Move move : SearchService.getMoves(parent.node)) {
+            if (parent.hasChild(move.generatingOperator())) {
+                continue;
+            }
+
+            InformedNode node = SearchService.expandNode(parent.node, move);
+            if (node != null && smaStarData.isCovered(node)) {
+                smaStarData.recorder.recordDuplicate();
+            } else if (node != null) {
+                node.updateF();
+                MemoryNode child = new MemoryNode(node, parent, Math.max(parent.f, node.getF()), smaStarData.numMemoryNodesCreated++);
+                if (smaStarData.makeRoom(child)) {
+                    parent.children.add(child);
+                    smaStarData.add(child);
+                } else if (!smaStarData.leaves.isEmpty()) {
+                    // otherwise the path alone fills the budget, so the child can never be kept
+                    parent.forgottenF = Math.min(parent.forgottenF, child.f);
+                }
+            }
+        }
+
+        smaStarData.expandedNode = null;
+        smaStarData.backUp(parent);
+        if (parent.children.isEmpty()) {
+            smaStarData.leaves.add(parent);
+            smaStarData.open.add(parent);
+        } else if (parent.forgottenF != INFINITE_F) {
+            smaStarData.open.add(parent);
+        }
+    }
+
+    /**
+     * This method prints the number of nodes dropped to stay within the node budget.
+     *
+     * @param outputFile the PrintWriter to which the report is printed.
+     */
+    @Override
+    public void printReport(PrintWriter outputFile) {
+        if (smaStarData != null) {
+            outputFile.println(String.format("Num of nodes dropped: %d", smaStarData.numDroppedNodes));
+        }
+    }
+
+    private static class MemoryNode {
+
+        private final InformedNode node;
+        private final MemoryNode parent;
+        private final int depth;
+        private final long serial;
+        private final List<MemoryNode> children = new ArrayList<>();
+        // the f value backed up from the subtree
+        private int f;
+        // the lowest f value of the dropped children
+        private int forgottenF = INFINITE_F;
+        private boolean expanded;
+
+        public MemoryNode(InformedNode node, MemoryNode parent, int f, long serial) {
+            this.node = node;
+            this.parent = parent;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+            this.f = f;
+            this.serial = serial;
+        }
+
+        public boolean hasChild(GeneratingOperator generatingOperator) {
+            for (MemoryNode child : children) {
+                if (child.node.getGeneratingOperator() == generatingOperator) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        public int calcOpenF() {
+            return expanded ? forgottenF : f;
+        }
+    }
+
+    private static class SMAStarData {
+
+        // nodes either not yet expanded or with dropped children, best first
+        private final NavigableSet<MemoryNode> open = new TreeSet<>(Comparator.comparingInt(MemoryNode::calcOpenF)
+                .thenComparing(Comparator.comparingInt((MemoryNode memoryNode) -> memoryNode.depth).reversed())
+                .thenComparingLong(memoryNode -> memoryNode.serial));
+        // nodes without children in memory, worst last
+        private final NavigableSet<MemoryNode> leaves = new TreeSet<>(Comparator.comparingInt((MemoryNode memoryNode) -> memoryNode.f)
+                .thenComparing(Comparator.comparingInt((MemoryNode memoryNode) -> memoryNode.depth).reversed())
+                .thenComparingLong(memoryNode -> memoryNode.serial));
+        // the cheapest node in memory of each state
+        private final StateTable<InformedNode> states = new StateTable<>();
+        private final SearchMetrics.Recorder recorder = SearchMetrics.getRecorder();
+        private final long nodeBudget;
+        private long numMemoryNodes;
+        private long numMemoryNodesCreated;
+        private long numDroppedNodes;
+        private MemoryNode expandedNode;
+
+        public SMAStarData(long nodeBudget) {
+            this.nodeBudget = nodeBudget;
+        }
+
+        public boolean isCovered(InformedNode node) {
+            InformedNode seen = states.get(node.getKey());
+            return seen != null && seen.getWeight() <= node.getWeight();
+        }
+
+        public void add(MemoryNode memoryNode) {
+            leaves.add(memoryNode);
+            open.add(memoryNode);
+            states.put(memoryNode.node);
+            numMemoryNodes++;
+            recorder.recordOpenSize(numMemoryNodes);
+        }
+
+        public boolean makeRoom(MemoryNode child) {
+            while (numMemoryNodes >= nodeBudget) {
+                if (leaves.isEmpty() || leaves.last().f < child.f) {
+                    return false;
+                }
+
+                drop(leaves.last());
+            }
+
+            return true;
+        }
+
+        private void drop(MemoryNode leaf) {
+            leaves.remove(leaf);
+            open.remove(leaf);
+            if (states.get(leaf.node.getKey()) == leaf.node) {
+                states.remove(leaf.node.getKey());
+            }
+
+            numMemoryNodes--;
+            numDroppedNodes++;
+            MemoryNode parent = leaf.parent;
+            if (parent != expandedNode) {
+                open.remove(parent);
+            }
+
+            parent.children.remove(leaf);
+            parent.forgottenF = Math.min(parent.forgottenF, leaf.f);
+            if (parent != expandedNode) {
+                if (parent.children.isEmpty()) {
+                    leaves.add(parent);
+                }
+
+                open.add(parent);
+            }
+        }
+
+        public void backUp(MemoryNode memoryNode) {
+            while (memoryNode != null) {
+                int f = memoryNode.forgottenF;
+                for (MemoryNode child : memoryNode.children) {
+                    f = Math.min(f, child.f);
+                }
+
+                if (f == memoryNode.f) {
+                    return;
+                }
+
+                // only nodes with children in memory are passed on, so they are neither in the leaves nor keyed by f in open
+                memoryNode.f = f;
+                memoryNode = memoryNode.parent;
+            }
+        }
+    }
+}
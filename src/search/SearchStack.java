@@ -0,0 +1,266 @@
+package search;
+
+import component.Dimension;
+import component.Move;
+import infrastructure.InformedNode;
+import infrastructure.Node;
+import infrastructure.StateKey;
+import service.InfrastructureService;
+import service.SearchService;
+
+import java.util.Arrays;
+
+/**
+ * This class represents the explicit primitive stack of an in-place depth-first search.
+ * A single board is updated in place by making and unmaking moves, while the g and h values, the index of the empty piece
+ * and the applied move of every depth are kept in parallel arrays. The search root is held at depth zero.
+ * A key of the board is kept per depth as well, preceded by the keys of the ancestors of the search root, so a move leading
+ * back to a state on the current path is rejected. The key is the packed tile ids if the board fits into a single long,
+ * or a Zobrist hash otherwise, and both are updated incrementally when a move is made.
+ *
+ * @author Yahav Karpel
+ */
+class SearchStack {
+
+    private static final int DEFAULT_DEPTH = 1 << 6;
+
+    // the random bit strings of every tile at every index, used only if the board does not fit into a single long
+    private static final long[] ZOBRIST = StateKey.isPackable() ? null : createZobrist();
+
+    private final byte[] board;
+    private final int rootEmptyPieceIndex;
+    private final int rootG;
+    private final int rootH;
+    private final int numAncestors;
+
+    private int depth;
+    private long[] keys;
+    private int[] emptyPieceIndices = new int[DEFAULT_DEPTH];
+    private int[] gs = new int[DEFAULT_DEPTH];
+    private int[] hs = new int[DEFAULT_DEPTH];
+    private int[] nextMoveIndices = new int[DEFAULT_DEPTH];
+    private Move[] moves = new Move[DEFAULT_DEPTH];
+    private long numNodes;
+
+    /**
+     * This method constructs a stack whose search root is the provided node.
+     * The keys of the ancestors of the node are taken from its parent chain, so cycles through the node are rejected as well.
+     *
+     * @param root the node from which the search begins.
+     */
+    public SearchStack(InformedNode root) {
+        board = root.getBoard().clone();
+        rootEmptyPieceIndex = root.getEmptyPieceIndex();
+        rootG = root.getWeight();
+        rootH = root.getH();
+        int numNodesOnPath = 0;
+        for (Node node = root; node != null; node = node.getParent()) {
+            numNodesOnPath++;
+        }
+
+        numAncestors = numNodesOnPath - 1;
+        keys = new long[numAncestors + DEFAULT_DEPTH];
+        int i = numAncestors;
+        for (Node node = root; node != null; node = node.getParent()) {
+            keys[i--] = calcKey(node.getBoard());
+        }
+
+        reset();
+    }
+
+    /**
+     * This method unwinds the stack back to the search root.
+     */
+    public void reset() {
+        while (depth > 0) {
+            unmakeMove();
+        }
+
+        depth = 0;
+        emptyPieceIndices[0] = rootEmptyPieceIndex;
+        gs[0] = rootG;
+        hs[0] = rootH;
+        nextMoveIndices[0] = 0;
+        moves[0] = null;
+    }
+
+    /**
+     * This method returns the current depth, which is negative once the search root was popped.
+     *
+     * @return The current depth.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * This method returns the next untried move at the current depth, skipping the moves leading back to a state on the path.
+     *
+     * @return The next move, or null if all moves at the current depth were tried.
+     */
+    public Move nextMove() {
+        int emptyPieceIndex = emptyPieceIndices[depth];
+        Move[] legalMoves = SearchService.getMoves(emptyPieceIndex);
+        while (nextMoveIndices[depth] < legalMoves.length) {
+            Move move = legalMoves[nextMoveIndices[depth]++];
+            int nextEmptyPieceIndex = move.nextEmptyPieceIndex();
+            long key = keys[numAncestors + depth] ^ calcKeyDelta(board[nextEmptyPieceIndex], nextEmptyPieceIndex, emptyPieceIndex);
+            if (!isOnPath(key)) {
+                return move;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * This method returns the f value of the current state.
+     *
+     * @return The f value.
+     */
+    public int getF() {
+        return gs[depth] + hs[depth];
+    }
+
+    /**
+     * This method applies the provided move to the board and pushes the resulting state.
+     *
+     * @param move a legal move of the empty piece at the current depth.
+     * @return The f value of the resulting state.
+     */
+    public int makeMove(Move move) {
+        int emptyPieceIndex = emptyPieceIndices[depth];
+        int nextEmptyPieceIndex = move.nextEmptyPieceIndex();
+        int tile = board[nextEmptyPieceIndex];
+        int hDelta = InfrastructureService.calcHDelta(board, nextEmptyPieceIndex, emptyPieceIndex);
+        long key = keys[numAncestors + depth] ^ calcKeyDelta(tile, nextEmptyPieceIndex, emptyPieceIndex);
+        board[emptyPieceIndex] = (byte) tile;
+        board[nextEmptyPieceIndex] = (byte) InfrastructureService.EMPTY_TILE;
+        ensureCapacity();
+        depth++;
+        keys[numAncestors + depth] = key;
+        emptyPieceIndices[depth] = nextEmptyPieceIndex;
+        gs[depth] = gs[depth - 1] + InfrastructureService.toPiece(tile).color().cost;
+        hs[depth] = hs[depth - 1] + hDelta;
+        nextMoveIndices[depth] = 0;
+        moves[depth] = move;
+        assert hs[depth] == InfrastructureService.h(board) : "incremental h differs from a full calculation";
+        numNodes++;
+        return gs[depth] + hs[depth];
+    }
+
+    /**
+     * This method pops the current state and undoes its move on the board.
+     */
+    public void unmakeMove() {
+        if (depth > 0) {
+            int emptyPieceIndex = emptyPieceIndices[depth];
+            int previousEmptyPieceIndex = emptyPieceIndices[depth - 1];
+            board[emptyPieceIndex] = board[previousEmptyPieceIndex];
+            board[previousEmptyPieceIndex] = (byte) InfrastructureService.EMPTY_TILE;
+        }
+
+        depth--;
+    }
+
+    /**
+     * This method checks if the current state represents the target pattern.
+     *
+     * @return true if the current state represents the target pattern, false otherwise.
+     */
+    public boolean isTargetFound() {
+        return depth >= 0 && hs[depth] == 0 && isTarget();
+    }
+
+    /**
+     * This method creates the node objects of the path from the provided search root to the current state.
+     * The created nodes are deducted from the generated nodes held by the stack, so they are not counted twice.
+     *
+     * @param root the node from which the search began.
+     * @return The node of the current state.
+     */
+    public Node createPath(Node root) {
+        Node node = root;
+        for (int i = 1; i <= depth; i++) {
+            node = SearchService.expandNode(node, moves[i]);
+        }
+
+        numNodes -= depth;
+        return node;
+    }
+
+    /**
+     * This method returns the number of generated nodes that were not created as node objects.
+     *
+     * @return The number of generated nodes.
+     */
+    public long getNumNodes() {
+        return numNodes;
+    }
+
+    private boolean isOnPath(long key) {
+        // the parity of the row and column of the empty piece flips with every move, so only every second state may repeat the key
+        for (int i = numAncestors + depth - 1; i >= 0; i -= 2) {
+            if (keys[i] == key) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static long calcKey(byte[] board) {
+        if (ZOBRIST == null) {
+            return StateKey.pack(board);
+        }
+
+        long key = 0;
+        for (int i = 0; i < board.length; i++) {
+            key ^= ZOBRIST[i * Dimension.BOARD_SIZE + board[i]];
+        }
+
+        return key;
+    }
+
+    private static long calcKeyDelta(int tile, int source, int destination) {
+        int emptyTile = InfrastructureService.EMPTY_TILE;
+        if (ZOBRIST == null) {
+            long bits = tile ^ emptyTile;
+            return bits << (source << 2) ^ bits << (destination << 2);
+        }
+
+        return ZOBRIST[source * Dimension.BOARD_SIZE + tile] ^ ZOBRIST[source * Dimension.BOARD_SIZE + emptyTile]
+                ^ ZOBRIST[destination * Dimension.BOARD_SIZE + tile] ^ ZOBRIST[destination * Dimension.BOARD_SIZE + emptyTile];
+    }
+
+    private static long[] createZobrist() {
+        long[] zobrist = new long[Dimension.BOARD_SIZE * Dimension.BOARD_SIZE];
+        for (int i = 0; i < zobrist.length; i++) {
+            zobrist[i] = StateKey.mix(i + 1);
+        }
+
+        return zobrist;
+    }
+
+    private boolean isTarget() {
+        for (int i = 0; i < board.length; i++) {
+            if (board[i] != i) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void ensureCapacity() {
+        if (depth + 1 == gs.length) {
+            int capacity = gs.length << 1;
+            emptyPieceIndices = Arrays.copyOf(emptyPieceIndices, capacity);
+            gs = Arrays.copyOf(gs, capacity);
+            hs = Arrays.copyOf(hs, capacity);
+            nextMoveIndices = Arrays.copyOf(nextMoveIndices, capacity);
+            moves = Arrays.copyOf(moves, capacity);
+            keys = Arrays.copyOf(keys, numAncestors + capacity);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package search;
 import infrastructure.InformedDepthFirstNode;
 import infrastructure.Node;
 
+import java.io.PrintWriter;
+
 /**
  * This interface represents a search algorithm for searching in a state space.
  *
@@ -17,4 +19,12 @@ public interface Searchable {
      * @return The target node if found, null otherwise.
      */
     Node search(InformedDepthFirstNode root);
+
+    /**
+     * This method prints a report of the last search to the provided PrintWriter, if the algorithm has one.
+     *
+     * @param outputFile the PrintWriter to which the report is printed.
+     */
+    default void printReport(PrintWriter outputFile) {
+    }
 }
@@ -0,0 +1,78 @@
+package search;
+
+import component.Move;
+import exception.UnsupportedTablebaseSizeException;
+import infrastructure.InformedDepthFirstNode;
+import infrastructure.Node;
+import infrastructure.SearchMetrics;
+import infrastructure.Tablebase;
+import service.InfrastructureService;
+import service.SearchService;
+
+/**
+ * This class represents a lookup of the optimal solution in a tablebase of all the states of a small puzzle.
+ * Starting from the root, it repeatedly moves to a neighbor whose optimal cost is lower by exactly the cost of the move,
+ * so the solution is found in time proportional to its length. The tablebase is built on first use and shared by all lookups
+ * of the same class loader, that is, of the same puzzle layout.
+ *
+ * @author Yahav Karpel
+ */
+public class TablebaseLookup implements Searchable {
+
+    private static Tablebase sharedTablebase;
+
+    private final Tablebase tablebase;
+
+    /**
+     * This method constructs a new lookup, building the tablebase if it was not built yet.
+     *
+     * @throws UnsupportedTablebaseSizeException if the state space of the puzzle is too large.
+     */
+    public TablebaseLookup() {
+        tablebase = getTablebase();
+    }
+
+    /**
+     * This method returns the tablebase of the current puzzle layout, building it on first use.
+     *
+     * @return The tablebase.
+     */
+    private static synchronized Tablebase getTablebase() {
+        if (sharedTablebase == null) {
+            sharedTablebase = new Tablebase();
+        }
+
+        return sharedTablebase;
+    }
+
+    /**
+     * This method walks downhill through the tablebase starting from the provided root node.
+     *
+     * @param root the root node from which the search begins.
+     * @return The target node if reachable, null otherwise.
+     */
+    @Override
+    public Node search(InformedDepthFirstNode root) {
+        if (!tablebase.isReachable(root.getBoard())) {
+            return null;
+        }
+
+        SearchMetrics.Recorder recorder = SearchMetrics.getRecorder();
+        Node node = root;
+        int cost = tablebase.getCost(root.getBoard());
+        while (cost > 0) {
+            recorder.recordExpansion(node.getWeight() + cost);
+            for (Move move : SearchService.getMoves(node)) {
+                int moveCost = InfrastructureService.toPiece(node.getBoard()[move.nextEmptyPieceIndex()]).color().cost;
+                Node neighbor = SearchService.expandNode(node, move);
+                if (neighbor != null && tablebase.getCost(neighbor.getBoard()) == cost - moveCost) {
+                    node = neighbor;
+                    cost -= moveCost;
+                    break;
+                }
+            }
+        }
+
+        return node;
+    }
+}
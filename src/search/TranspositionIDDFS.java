@@ -0,0 +1,104 @@
+package search;
+
+import component.Move;
+import constants.SearchConstants;
+import infrastructure.InformedDepthFirstNode;
+import infrastructure.Node;
+import infrastructure.SearchMetrics;
+import infrastructure.StateKey;
+import infrastructure.TranspositionTable;
+import service.InfrastructureService;
+import service.PointService;
+import service.SearchService;
+
+/**
+ * This class represents Iterative-Deepening Depth-First Search algorithm with a transposition table.
+ * The table stores the largest remaining depth each state was searched with, and is kept across iterations,
+ * so a state reached again with no more remaining depth is pruned instead of being searched again.
+ * Since every move changes the Manhattan distance of a single piece by one, the number of moves is bounded below
+ * by the sum of the Manhattan distances and shares its parity, so the depth limit starts from that sum and grows by two.
+ * Like IDDFS, the search finds a path with the fewest moves, regardless of the colors of the pieces.
+ *
+ * @author Yahav Karpel
+ */
+public class TranspositionIDDFS implements Searchable {
+
+    private final int capacity = Integer.getInteger(SearchConstants.TRANSPOSITION_TABLE_SIZE_PROPERTY, SearchConstants.DEFAULT_TRANSPOSITION_TABLE_SIZE);
+    private SearchMetrics.Recorder recorder;
+
+    /**
+     * This method performs IDDFS with a transposition table starting from the provided root node.
+     *
+     * @param root the root node from which the search begins.
+     * @return The target node if found, null otherwise.
+     */
+    @Override
+    public Node search(InformedDepthFirstNode root) {
+        TranspositionTable transpositionTable = new TranspositionTable(capacity);
+        recorder = SearchMetrics.getRecorder();
+        for (int depthLimit = calcLowerBound(root.getBoard()); depthLimit < Short.MAX_VALUE; depthLimit += 2) {
+            Node targetNode = depthLimitedSearch(root, depthLimit, transpositionTable);
+            if (targetNode != null) {
+                return targetNode;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * This method calculates a lower bound on the number of moves needed to reach the target from the provided board,
+     * namely the sum of the Manhattan distances of the pieces from their target cells.
+     *
+     * @param board the tile ids of a configuration of the pieces.
+     * @return The calculated lower bound.
+     */
+    private static int calcLowerBound(byte[] board) {
+        int sum = 0;
+        for (int cell = 0; cell < board.length; cell++) {
+            int tile = board[cell];
+            if (tile != InfrastructureService.EMPTY_TILE) {
+                sum += Math.abs(PointService.toRow(cell) - PointService.toRow(tile)) + Math.abs(PointService.toColumn(cell) - PointService.toColumn(tile));
+            }
+        }
+
+        return sum;
+    }
+
+    /**
+     * This method performs depth-limited search from the provided node up to the remaining depth.
+     * The state of the node is recorded before its neighbors are searched, which also prunes cycles back to the current path.
+     *
+     * @param node               the node being expanded.
+     * @param depth              the remaining depth for the search.
+     * @param transpositionTable the table of the largest remaining depth each state was searched with.
+     * @return The target node if found, or null if depth limit reached.
+     */
+    private Node depthLimitedSearch(Node node, int depth, TranspositionTable transpositionTable) {
+        if (node.isTarget()) {
+            return node;
+        }
+
+        if (depth > 0) {
+            StateKey nodeKey = node.getKey();
+            if (transpositionTable.getDepth(nodeKey) >= depth) {
+                recorder.recordDuplicate();
+                return null;
+            }
+
+            transpositionTable.put(nodeKey, depth);
+            recorder.recordExpansion(node.getWeight());
+            for (Move move : SearchService.getMoves(node)) {
+                Node neighbor = SearchService.expandNode(node, move);
+                if (neighbor != null) {
+                    Node targetNode = depthLimitedSearch(neighbor, depth - 1, transpositionTable);
+                    if (targetNode != null) {
+                        return targetNode;
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+}
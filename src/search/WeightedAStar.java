@@ -0,0 +1,90 @@
+package search;
+
+import component.Move;
+import infrastructure.InformedNode;
+import infrastructure.Node;
+import infrastructure.SearchMetrics;
+import infrastructure.StateTable;
+import service.SearchService;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+/**
+ * This class represents a weighted variant of A* algorithm, which quickly finds a solution of bounded suboptimality.
+ * Nodes are ordered by g + w * h, so a weight above one favors nodes closer to the target over cheaper ones,
+ * and the cost of the solution found is at most w times the optimal cost. States are never reopened,
+ * and the search gives up once the provided number of nodes has been generated.
+ *
+ * @author Yahav Karpel
+ */
+class WeightedAStar {
+
+    private final double weight;
+    private final long nodeBudget;
+
+    /**
+     * This method constructs a weighted A* search with the specified weight and node budget.
+     *
+     * @param weight     the weight of the h value.
+     * @param nodeBudget the maximal number of nodes generated before giving up.
+     */
+    public WeightedAStar(double weight, long nodeBudget) {
+        this.weight = weight;
+        this.nodeBudget = nodeBudget;
+    }
+
+    /**
+     * This method performs weighted A* search starting from the provided root node.
+     *
+     * @param root the root node from which the search begins.
+     * @return The target node if found within the node budget, null otherwise.
+     */
+    public Node search(InformedNode root) {
+        Queue<InformedNode> pq = new PriorityQueue<>(Comparator.comparingDouble(this::calcPriority).thenComparingInt(InformedNode::getH));
+        StateTable<InformedNode> history = new StateTable<>();
+        SearchMetrics.Recorder recorder = SearchMetrics.getRecorder();
+        pq.add(root);
+        history.put(root);
+        long numGeneratedNodes = 0;
+        while (!pq.isEmpty() && numGeneratedNodes < nodeBudget) {
+            InformedNode node = pq.remove();
+            if (history.get(node.getKey()) != node) {
+                continue;
+            }
+
+            if (node.isTarget()) {
+                return node;
+            }
+
+            recorder.recordExpansion(node.getF());
+            for (Move move : SearchService.getMoves(node)) {
+                InformedNode neighbor = SearchService.expandNode(node, move);
+                if (neighbor != null) {
+                    numGeneratedNodes++;
+                    InformedNode seen = history.get(neighbor.getKey());
+                    if (seen == null || neighbor.getWeight() < seen.getWeight()) {
+                        neighbor.updateF();
+                        history.put(neighbor);
+                        pq.add(neighbor);
+                    } else {
+                        recorder.recordDuplicate();
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * This method calculates the priority of the provided node, namely g + w * h.
+     *
+     * @param node the node to prioritize.
+     * @return The calculated priority.
+     */
+    private double calcPriority(InformedNode node) {
+        return node.getWeight() + weight * node.getH();
+    }
+}
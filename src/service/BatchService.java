@@ -0,0 +1,103 @@
+package service;
+
+import constants.IOConstants;
+import constants.PunctuationConstants;
+import exception.BatchProcessingException;
+import io.BatchPrinter;
+import io.InputParser;
+
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class provides a set of methods for assisting the BatchPrinter class.
+ * The dimensions and the gray and red pieces of a puzzle, namely its layout, are held in static tables throughout the
+ * application. Therefore, the classes of the application are loaded once per layout by a dedicated class loader, whose
+ * static tables, such as the move tables and the heuristic tables, are shared by all the puzzles of that layout.
+ *
+ * @author Yahav Karpel
+ */
+public class BatchService {
+
+    private static final Map<String, ClassLoader> layoutClassLoaders = new ConcurrentHashMap<>();
+
+    /**
+     * This method solves the provided puzzle within the class loader of its layout and creates its result record.
+     * A puzzle that fails is reported in its record instead of failing the batch.
+     *
+     * @param inputLines a list of strings representing the non-empty lines of a single puzzle.
+     * @return The result record of the puzzle.
+     * @throws BatchProcessingException if the classes of the layout cannot be loaded.
+     */
+    public static String createResultRecord(List<String> inputLines) {
+        try {
+            ClassLoader classLoader = layoutClassLoaders.computeIfAbsent(createLayoutKey(inputLines),
+                                                                         layoutKey -> createLayoutClassLoader(inputLines));
+            return (String) classLoader.loadClass(BatchPrinter.class.getName())
+                                       .getMethod("createResultRecord", List.class)
+                                       .invoke(null, inputLines);
+        } catch (InvocationTargetException e) {
+            return createErrorRecord(inputLines, e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new BatchProcessingException(e);
+        }
+    }
+
+    /**
+     * This method creates the key of the layout of the provided puzzle.
+     *
+     * @param inputLines a list of strings representing the non-empty lines of a single puzzle.
+     * @return The key of the layout.
+     */
+    private static String createLayoutKey(List<String> inputLines) {
+        return String.join(PunctuationConstants.TAB,
+                           inputLines.get(1),
+                           new TreeSet<>(InputService.extractNumericValues(inputLines.get(2))).toString(),
+                           new TreeSet<>(InputService.extractNumericValues(inputLines.get(3))).toString());
+    }
+
+    /**
+     * This method creates a class loader of the application whose input is the provided puzzle.
+     *
+     * @param inputLines a list of strings representing the non-empty lines of a single puzzle.
+     * @return The created class loader.
+     * @throws BatchProcessingException if the input of the class loader cannot be set.
+     */
+    private static ClassLoader createLayoutClassLoader(List<String> inputLines) {
+        URL location = BatchService.class.getProtectionDomain().getCodeSource().getLocation();
+        ClassLoader classLoader = new URLClassLoader(new URL[]{location}, ClassLoader.getPlatformClassLoader());
+        try {
+            classLoader.loadClass(InputParser.class.getName())
+                       .getMethod("setInputLines", List.class)
+                       .invoke(null, inputLines);
+        } catch (ReflectiveOperationException e) {
+            throw new BatchProcessingException(e);
+        }
+
+        return classLoader;
+    }
+
+    /**
+     * This method creates the result record of a puzzle that failed.
+     *
+     * @param inputLines a list of strings representing the non-empty lines of a single puzzle.
+     * @param cause      the cause of the failure.
+     * @return The result record of the puzzle.
+     */
+    private static String createErrorRecord(List<String> inputLines, Throwable cause) {
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+
+        String message = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        return String.join(PunctuationConstants.TAB, inputLines.get(0), inputLines.get(1), "Error: " + message);
+    }
+
+    private BatchService() {
+    }
+}
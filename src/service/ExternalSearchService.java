@@ -0,0 +1,122 @@
+package service;
+
+import component.Move;
+import constants.SearchConstants;
+import exception.ExternalMemoryException;
+import infrastructure.Node;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * This class provides a set of methods for assisting the external-memory search algorithms.
+ *
+ * @author Yahav Karpel
+ */
+public class ExternalSearchService {
+
+    /**
+     * This method creates a fresh directory for the files of a single search, within the directory set by the
+     * external.dir system property, or within the temporary directory by default.
+     *
+     * @return The created directory.
+     * @throws ExternalMemoryException if the directory cannot be created.
+     */
+    public static Path createDirectory() {
+        try {
+            String directory = System.getProperty(SearchConstants.EXTERNAL_DIRECTORY_PROPERTY, System.getProperty("java.io.tmpdir"));
+            Path parent = Files.createDirectories(Paths.get(directory));
+            return Files.createTempDirectory(parent, "search");
+        } catch (IOException e) {
+            throw new ExternalMemoryException(e);
+        }
+    }
+
+    /**
+     * This method deletes the provided directory together with its files.
+     *
+     * @param directory the directory to delete.
+     * @throws ExternalMemoryException if the directory cannot be deleted.
+     */
+    public static void deleteDirectory(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        } catch (IOException e) {
+            throw new ExternalMemoryException(e);
+        }
+    }
+
+    /**
+     * This method returns the number of partition files of each state set, set by the external.partitions system property.
+     *
+     * @return The number of partition files.
+     */
+    public static int getNumPartitions() {
+        return Integer.getInteger(SearchConstants.EXTERNAL_PARTITIONS_PROPERTY, SearchConstants.DEFAULT_EXTERNAL_PARTITIONS);
+    }
+
+    /**
+     * This method applies the provided move to a copy of the provided board.
+     *
+     * @param board           the tile ids of the state.
+     * @param emptyPieceIndex the index of the empty piece on the board.
+     * @param move            a legal move of the empty piece.
+     * @return The tile ids of the resulting state.
+     */
+    public static byte[] applyMove(byte[] board, int emptyPieceIndex, Move move) {
+        byte[] nextBoard = board.clone();
+        nextBoard[emptyPieceIndex] = board[move.nextEmptyPieceIndex()];
+        nextBoard[move.nextEmptyPieceIndex()] = (byte) InfrastructureService.EMPTY_TILE;
+        return nextBoard;
+    }
+
+    /**
+     * This method checks if the provided board represents the target pattern.
+     *
+     * @param board the tile ids of the state.
+     * @return true if the board represents the target pattern, false otherwise.
+     */
+    public static boolean isTarget(byte[] board) {
+        for (int i = 0; i < board.length; i++) {
+            if (board[i] != i) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * This method creates the node objects of the path from the provided root along the provided states.
+     * The created nodes were already counted when their states were generated, so they are deducted from the number of nodes created.
+     *
+     * @param root   the root node from which the search began.
+     * @param boards the tile ids of the states along the path, following the root.
+     * @return The node of the last state.
+     */
+    public static Node createPath(Node root, List<byte[]> boards) {
+        Node node = root;
+        for (byte[] board : boards) {
+            int nextEmptyPieceIndex = InfrastructureService.findEmptyPieceIndex(board);
+            for (Move move : SearchService.getMoves(node)) {
+                if (move.nextEmptyPieceIndex() == nextEmptyPieceIndex) {
+                    node = SearchService.expandNode(node, move);
+                    break;
+                }
+            }
+        }
+
+        Node.addNumNodes(-boards.size());
+        return node;
+    }
+
+    private ExternalSearchService() {
+    }
+}
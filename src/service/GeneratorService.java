@@ -0,0 +1,329 @@
+package service;
+
+import component.Color;
+import constants.IOConstants;
+import constants.PunctuationConstants;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * This class provides a set of methods for assisting the InstanceGenerator class.
+ * The generated boards are arrays of tile ids, where the tile id of each piece is the index of its target cell and the empty
+ * piece is the last tile, as in the rest of the application. Unlike the rest of the application, the dimensions are passed
+ * explicitly, since the generated puzzles are not the puzzle of the input file.
+ *
+ * @author Yahav Karpel
+ */
+public class GeneratorService {
+
+    /**
+     * This method chooses the provided number of tiles at random, excluding the empty tile and the provided tiles.
+     * If there are not enough tiles, all of them are chosen.
+     *
+     * @param numPieces     the number of pieces on the board, not counting the empty piece.
+     * @param numTiles      the number of tiles to choose.
+     * @param excludedTiles the tiles that must not be chosen.
+     * @param random        the source of randomness.
+     * @return The chosen tiles.
+     */
+    public static Set<Integer> chooseTiles(int numPieces, int numTiles, Set<Integer> excludedTiles, Random random) {
+        List<Integer> tiles = new ArrayList<>();
+        for (int tile = 0; tile < numPieces; tile++) {
+            if (!excludedTiles.contains(tile)) {
+                tiles.add(tile);
+            }
+        }
+
+        Collections.shuffle(tiles, random);
+        return new TreeSet<>(tiles.subList(0, Math.min(numTiles, tiles.size())));
+    }
+
+    /**
+     * This method checks if every permutation of the cells not held by gray pieces with the right parity is solvable.
+     * By Wilson's theorem, this holds for the bipartite graphs of the board as long as the cells stay connected after removing
+     * any one of them, and do not form a mere cycle, as on a 2x2 board.
+     *
+     * @param numOfRows the number of rows.
+     * @param numOfCols the number of columns.
+     * @param grayTiles the tiles of the gray pieces, which are held at their target cells.
+     * @return true if every permutation with the right parity is solvable, false otherwise.
+     */
+    public static boolean isPermutable(int numOfRows, int numOfCols, Set<Integer> grayTiles) {
+        int boardSize = numOfRows * numOfCols;
+        if (boardSize - grayTiles.size() < 3 || !isConnected(numOfRows, numOfCols, grayTiles, -1)) {
+            return false;
+        }
+
+        boolean isCycle = true;
+        for (int cell = 0; cell < boardSize; cell++) {
+            if (!grayTiles.contains(cell)) {
+                if (!isConnected(numOfRows, numOfCols, grayTiles, cell)) {
+                    return false;
+                }
+
+                isCycle &= getFreeNeighbors(numOfRows, numOfCols, grayTiles, cell).size() == 2;
+            }
+        }
+
+        return !isCycle;
+    }
+
+    /**
+     * This method checks if the cells not held by gray pieces, other than the removed cell, are connected.
+     *
+     * @param numOfRows   the number of rows.
+     * @param numOfCols   the number of columns.
+     * @param grayTiles   the tiles of the gray pieces.
+     * @param removedCell the cell to leave out, or -1 if there is none.
+     * @return true if the cells are connected, false otherwise.
+     */
+    private static boolean isConnected(int numOfRows, int numOfCols, Set<Integer> grayTiles, int removedCell) {
+        int boardSize = numOfRows * numOfCols;
+        boolean[] visited = new boolean[boardSize];
+        Queue<Integer> queue = new ArrayDeque<>();
+        int numCells = 0;
+        for (int cell = 0; cell < boardSize; cell++) {
+            if (!grayTiles.contains(cell) && cell != removedCell && numCells++ == 0) {
+                visited[cell] = true;
+                queue.add(cell);
+            }
+        }
+
+        int numVisited = 0;
+        while (!queue.isEmpty()) {
+            int cell = queue.remove();
+            numVisited++;
+            for (int neighbor : getFreeNeighbors(numOfRows, numOfCols, grayTiles, cell)) {
+                if (!visited[neighbor] && neighbor != removedCell) {
+                    visited[neighbor] = true;
+                    queue.add(neighbor);
+                }
+            }
+        }
+
+        return numVisited == numCells;
+    }
+
+    /**
+     * This method returns the neighbors of the provided cell that are not held by gray pieces.
+     *
+     * @param numOfRows the number of rows.
+     * @param numOfCols the number of columns.
+     * @param grayTiles the tiles of the gray pieces.
+     * @param cell      the cell.
+     * @return The neighbors of the cell.
+     */
+    private static List<Integer> getFreeNeighbors(int numOfRows, int numOfCols, Set<Integer> grayTiles, int cell) {
+        int row = cell / numOfCols;
+        int col = cell % numOfCols;
+        List<Integer> neighbors = new ArrayList<>();
+        if (row > 0) {
+            neighbors.add(cell - numOfCols);
+        }
+
+        if (row < numOfRows - 1) {
+            neighbors.add(cell + numOfCols);
+        }
+
+        if (col > 0) {
+            neighbors.add(cell - 1);
+        }
+
+        if (col < numOfCols - 1) {
+            neighbors.add(cell + 1);
+        }
+
+        neighbors.removeIf(grayTiles::contains);
+        return neighbors;
+    }
+
+    /**
+     * This method generates a board by a random walk of the empty piece backward from the target.
+     * The walk does not reverse its previous move unless the empty piece is in a dead end, so every generated board is solvable.
+     *
+     * @param numOfRows  the number of rows.
+     * @param numOfCols  the number of columns.
+     * @param grayTiles  the tiles of the gray pieces, which never move.
+     * @param walkLength the number of moves of the walk.
+     * @param random     the source of randomness.
+     * @return The tile ids of the generated board.
+     */
+    public static int[] generateByWalk(int numOfRows, int numOfCols, Set<Integer> grayTiles, int walkLength, Random random) {
+        int boardSize = numOfRows * numOfCols;
+        int[] board = createTargetBoard(boardSize);
+        int emptyPieceIndex = boardSize - 1;
+        int previousEmptyPieceIndex = -1;
+        for (int i = 0; i < walkLength; i++) {
+            List<Integer> neighbors = getFreeNeighbors(numOfRows, numOfCols, grayTiles, emptyPieceIndex);
+            if (neighbors.size() > 1) {
+                neighbors.remove(Integer.valueOf(previousEmptyPieceIndex));
+            }
+
+            if (neighbors.isEmpty()) {
+                break;
+            }
+
+            int nextEmptyPieceIndex = neighbors.get(random.nextInt(neighbors.size()));
+            board[emptyPieceIndex] = board[nextEmptyPieceIndex];
+            board[nextEmptyPieceIndex] = boardSize - 1;
+            previousEmptyPieceIndex = emptyPieceIndex;
+            emptyPieceIndex = nextEmptyPieceIndex;
+        }
+
+        return board;
+    }
+
+    /**
+     * This method generates a board by a random permutation of the pieces that are not gray, drawn again until its parity
+     * matches the parity of the distance of the empty piece from its target cell. Every generated board is solvable
+     * as long as the gray pieces leave the board permutable.
+     *
+     * @param numOfRows the number of rows.
+     * @param numOfCols the number of columns.
+     * @param grayTiles the tiles of the gray pieces, which are held at their target cells.
+     * @param random    the source of randomness.
+     * @return The tile ids of the generated board.
+     */
+    public static int[] generateByPermutation(int numOfRows, int numOfCols, Set<Integer> grayTiles, Random random) {
+        int boardSize = numOfRows * numOfCols;
+        List<Integer> freeCells = new ArrayList<>();
+        for (int cell = 0; cell < boardSize; cell++) {
+            if (!grayTiles.contains(cell)) {
+                freeCells.add(cell);
+            }
+        }
+
+        int[] board = createTargetBoard(boardSize);
+        do {
+            List<Integer> freeTiles = new ArrayList<>(freeCells);
+            Collections.shuffle(freeTiles, random);
+            for (int i = 0; i < freeCells.size(); i++) {
+                board[freeCells.get(i)] = freeTiles.get(i);
+            }
+        } while (!isParityPreserved(board, numOfCols));
+
+        return board;
+    }
+
+    /**
+     * This method creates the target board, where each tile is at its target cell.
+     *
+     * @param boardSize the number of cells.
+     * @return The tile ids of the target board.
+     */
+    private static int[] createTargetBoard(int boardSize) {
+        int[] board = new int[boardSize];
+        for (int i = 0; i < boardSize; i++) {
+            board[i] = i;
+        }
+
+        return board;
+    }
+
+    /**
+     * This method checks if the parity of the permutation of the provided board matches the parity of the distance of the empty
+     * piece from its target cell. Each move is a transposition with the empty piece that changes the distance by one,
+     * so only boards whose parities match can reach the target.
+     *
+     * @param board     the tile ids of the board.
+     * @param numOfCols the number of columns.
+     * @return true if the parities match, false otherwise.
+     */
+    private static boolean isParityPreserved(int[] board, int numOfCols) {
+        boolean[] visited = new boolean[board.length];
+        int numTranspositions = 0;
+        int emptyPieceIndex = 0;
+        for (int i = 0; i < board.length; i++) {
+            if (board[i] == board.length - 1) {
+                emptyPieceIndex = i;
+            }
+
+            for (int j = i; !visited[j]; j = board[j]) {
+                visited[j] = true;
+                numTranspositions += board[j] != i ? 1 : 0;
+            }
+        }
+
+        int targetIndex = board.length - 1;
+        int distance = Math.abs(emptyPieceIndex / numOfCols - targetIndex / numOfCols) + Math.abs(emptyPieceIndex % numOfCols - targetIndex % numOfCols);
+        return numTranspositions % 2 == distance % 2;
+    }
+
+    /**
+     * This method estimates the cost of solving the provided board by the sum of the Manhattan distances of the pieces
+     * from their target cells, weighted by their costs, which never exceeds the optimal cost.
+     *
+     * @param board     the tile ids of the board.
+     * @param numOfCols the number of columns.
+     * @param redTiles  the tiles of the red pieces.
+     * @return The estimated cost.
+     */
+    public static int estimateCost(int[] board, int numOfCols, Set<Integer> redTiles) {
+        int estimatedCost = 0;
+        for (int i = 0; i < board.length; i++) {
+            int tile = board[i];
+            if (tile != board.length - 1) {
+                int distance = Math.abs(i / numOfCols - tile / numOfCols) + Math.abs(i % numOfCols - tile % numOfCols);
+                estimatedCost += distance * (redTiles.contains(tile) ? Color.RED.cost : Color.GREEN.cost);
+            }
+        }
+
+        return estimatedCost;
+    }
+
+    /**
+     * This method creates the lines of the provided board in the input file format.
+     *
+     * @param searchName the name of the search algorithm.
+     * @param numOfRows  the number of rows.
+     * @param numOfCols  the number of columns.
+     * @param grayTiles  the tiles of the gray pieces.
+     * @param redTiles   the tiles of the red pieces.
+     * @param board      the tile ids of the board.
+     * @return A list of strings representing the lines of the puzzle.
+     */
+    public static List<String> createInputLines(String searchName, int numOfRows, int numOfCols, Set<Integer> grayTiles, Set<Integer> redTiles, int[] board) {
+        List<String> inputLines = new ArrayList<>();
+        inputLines.add(searchName);
+        inputLines.add(numOfRows + IOConstants.DIMENSION_DELIMITER + numOfCols);
+        inputLines.add(createPiecesLine(IOConstants.GRAY_PIECES_HEADER, grayTiles));
+        inputLines.add(createPiecesLine(IOConstants.RED_PIECES_HEADER, redTiles));
+        for (int row = 0; row < numOfRows; row++) {
+            List<String> rowPieces = new ArrayList<>();
+            for (int col = 0; col < numOfCols; col++) {
+                int tile = board[row * numOfCols + col];
+                rowPieces.add(tile == board.length - 1 ? PunctuationConstants.UNDERSCORE : String.valueOf(tile + 1));
+            }
+
+            inputLines.add(String.join(IOConstants.NUMERIC_VALUES_DELIMITER, rowPieces));
+        }
+
+        return inputLines;
+    }
+
+    /**
+     * This method creates the line of the pieces of a single color, following the provided header.
+     *
+     * @param header the header of the line.
+     * @param tiles  the tiles of the pieces.
+     * @return The line of the pieces.
+     */
+    private static String createPiecesLine(String header, Set<Integer> tiles) {
+        if (tiles.isEmpty()) {
+            return header;
+        }
+
+        return header + " " + tiles.stream().map(tile -> String.valueOf(tile + 1)).collect(Collectors.joining(IOConstants.NUMERIC_VALUES_DELIMITER));
+    }
+
+    private GeneratorService() {
+    }
+}
@@ -3,9 +3,15 @@ package service;
 import component.Color;
 import component.Dimension;
 import component.Piece;
-import component.Point;
-import constants.ComponentConstants;
+import constants.HeuristicConstants;
+import constants.PunctuationConstants;
 import exception.EmptyPieceNotFoundException;
+import exception.UnsupportedHeuristicNameException;
+import heuristic.Heuristic;
+import heuristic.LinearConflict;
+import heuristic.ManhattanDistance;
+import heuristic.PatternDatabase;
+import io.InputParser;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -17,33 +23,102 @@ import java.util.List;
  */
 public class InfrastructureService {
 
-    public static final List<String> targetRawBoard = createTargetRawBoard();
+    // the tile id of a piece is the index of its target cell, so the target board is the identity
+    public static final int EMPTY_TILE = Dimension.BOARD_SIZE - 1;
+    private static final Piece[] pieces = createPieces(InputParser.parseInputBoard());
+    private static final Heuristic heuristic = initHeuristic();
 
     /**
-     * This method creates the target raw board.
+     * This method creates the lookup table from tile ids to the pieces of the provided board.
      *
-     * @return The created target raw board.
+     * @param board a configuration of the pieces.
+     * @return The created lookup table.
      */
-    private static List<String> createTargetRawBoard() {
-        List<String> targetRawBoard = new ArrayList<>();
-        for (int i = 1; i < Dimension.BOARD_SIZE; i++) {
-            targetRawBoard.add(Integer.toString(i));
+    private static Piece[] createPieces(List<Piece> board) {
+        Piece[] pieces = new Piece[board.size()];
+        for (Piece piece : board) {
+            pieces[toTile(piece)] = piece;
         }
 
-        targetRawBoard.add(ComponentConstants.EMPTY_PIECE_RAW_DATA);
-        return targetRawBoard;
+        return pieces;
     }
 
     /**
-     * This method finds the index of the empty piece on the provided board.
+     * This method initializes the heuristic based on the heuristic system property.
+     *
+     * @return An instance of the selected heuristic.
+     * @throws UnsupportedHeuristicNameException if the heuristic name is not supported.
+     */
+    private static Heuristic initHeuristic() {
+        String heuristicName = System.getProperty(HeuristicConstants.HEURISTIC_PROPERTY, HeuristicConstants.DEFAULT_HEURISTIC_NAME);
+        return switch (heuristicName.toUpperCase()) {
+            case "MANHATTAN" -> new ManhattanDistance();
+            case "LINEAR-CONFLICT" -> new LinearConflict();
+            case "PDB" -> new PatternDatabase();
+            default -> throw new UnsupportedHeuristicNameException(heuristicName);
+        };
+    }
+
+    /**
+     * This method returns the tile id of the provided piece.
+     *
+     * @param piece the piece.
+     * @return The tile id of the piece.
+     */
+    public static int toTile(Piece piece) {
+        return piece.isEmpty() ? EMPTY_TILE : piece.data();
+    }
+
+    /**
+     * This method returns the piece represented by the provided tile id.
+     *
+     * @param tile the tile id.
+     * @return The piece represented by the tile id.
+     */
+    public static Piece toPiece(int tile) {
+        return pieces[tile];
+    }
+
+    /**
+     * This method encodes the provided board as tile ids.
      *
      * @param board a configuration of the pieces.
+     * @return The tile ids of the board.
+     */
+    public static byte[] encodeBoard(List<Piece> board) {
+        byte[] tiles = new byte[board.size()];
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = (byte) toTile(board.get(i));
+        }
+
+        return tiles;
+    }
+
+    /**
+     * This method decodes the provided tile ids as a board.
+     *
+     * @param board the tile ids of a configuration of the pieces.
+     * @return The decoded board.
+     */
+    public static List<Piece> decodeBoard(byte[] board) {
+        List<Piece> pieces = new ArrayList<>(board.length);
+        for (byte tile : board) {
+            pieces.add(toPiece(tile));
+        }
+
+        return pieces;
+    }
+
+    /**
+     * This method finds the index of the empty piece on the provided board.
+     *
+     * @param board the tile ids of a configuration of the pieces.
      * @return The index of the empty piece.
      * @throws EmptyPieceNotFoundException if the empty piece is not found on the board.
      */
-    public static int findEmptyPieceIndex(List<Piece> board) {
-        for (int i = 0; i < board.size(); i++) {
-            if (board.get(i).isEmpty()) {
+    public static int findEmptyPieceIndex(byte[] board) {
+        for (int i = 0; i < board.length; i++) {
+            if (board[i] == EMPTY_TILE) {
                 return i;
             }
         }
@@ -52,35 +127,61 @@ public class InfrastructureService {
     }
 
     /**
-     * This method calculates the heuristic evaluation based on the provided board.
+     * This method creates the name of the layout of the puzzle, namely its dimensions and its gray and red pieces,
+     * used to key the tables stored on disk.
      *
-     * @param board a configuration of the pieces.
-     * @return The calculated heuristic evaluation.
+     * @return The name of the layout.
+     */
+    public static String createLayoutName() {
+        return String.format("%dx%d-gray%s-red%s", Dimension.NUM_OF_ROWS, Dimension.NUM_OF_COLS, joinPieces(Color.GRAY), joinPieces(Color.RED));
+    }
+
+    /**
+     * This method joins the raw data of the pieces of the provided color.
+     *
+     * @param color the color of the pieces.
+     * @return The joined raw data.
      */
-    public static int h(List<Piece> board) {
-        int sum = 0;
-        for (int i = 0; i < board.size(); i++) {
-            Piece piece = board.get(i);
-            Color color = piece.color();
-            if (color.hasPositiveCost()) {
-                sum += color.cost * calcManhattanDistance(piece.data(), i);
+    private static String joinPieces(Color color) {
+        List<String> rawData = new ArrayList<>();
+        for (Piece piece : pieces) {
+            if (piece.color() == color) {
+                rawData.add(piece.rawData());
             }
         }
 
-        return sum;
+        return String.join(PunctuationConstants.COMMA, rawData);
+    }
+
+    /**
+     * This method returns the heuristic selected by the heuristic system property.
+     *
+     * @return The selected heuristic.
+     */
+    public static Heuristic getHeuristic() {
+        return heuristic;
+    }
+
+    /**
+     * This method calculates the heuristic evaluation based on the provided board.
+     *
+     * @param board the tile ids of a configuration of the pieces.
+     * @return The calculated heuristic evaluation.
+     */
+    public static int h(byte[] board) {
+        return heuristic.h(board);
     }
 
     /**
-     * This method calculates the Manhattan distance between the provided arguments.
+     * This method calculates the change in the heuristic evaluation caused by sliding a single piece into the empty space.
      *
-     * @param arg1 the first argument.
-     * @param arg2 the second argument.
-     * @return The Manhattan distance between the first and second arguments.
+     * @param board the tile ids of the configuration before the move.
+     * @param from  the index the piece slides from.
+     * @param to    the index the piece slides to, namely the index of the empty piece.
+     * @return The change in the heuristic evaluation.
      */
-    private static int calcManhattanDistance(int arg1, int arg2) {
-        Point p1 = new Point(arg1);
-        Point p2 = new Point(arg2);
-        return p1.calcAbsRowDistance(p2) + p1.calcAbsColumnDistance(p2);
+    public static int calcHDelta(byte[] board, int from, int to) {
+        return heuristic.calcHDelta(board, from, to);
     }
 
     private InfrastructureService() {
@@ -1,10 +1,13 @@
 package service;
 
 import constants.PunctuationConstants;
+import event.SolutionFoundEvent;
 import exception.UnsupportedSearchNameException;
 import infrastructure.InformedDepthFirstNode;
 import infrastructure.Node;
+import infrastructure.SearchMetrics;
 import io.InputParser;
+import jdk.jfr.FlightRecorder;
 import search.*;
 
 import java.io.PrintWriter;
@@ -26,26 +29,90 @@ public class OutputService {
      * @return The target node found by the search, or null if the root node represents the target.
      */
     public static Node executeSearch(InformedDepthFirstNode root) {
-        if (root.isTarget()) {
+        return executeSearch(root, InputParser.getSearchName());
+    }
+
+    /**
+     * This method executes the provided search algorithm starting from the provided root node.
+     * If the root node represents the target, or the target is unreachable from it, no search is performed.
+     *
+     * @param root       the root node from which the search begins.
+     * @param searchName the name of the search algorithm.
+     * @return The target node found by the search, or null if the root node represents the target or no path exists.
+     */
+    public static Node executeSearch(InformedDepthFirstNode root, String searchName) {
+        return executeSearch(root, initSearch(searchName));
+    }
+
+    /**
+     * This method executes the provided search algorithm starting from the provided root node.
+     * If the root node represents the target, or the target is unreachable from it, no search is performed.
+     * While a flight recording is running, a solution found event is committed once the search finds the target.
+     *
+     * @param root       the root node from which the search begins.
+     * @param searchable the search algorithm.
+     * @return The target node found by the search, or null if the root node represents the target or no path exists.
+     */
+    public static Node executeSearch(InformedDepthFirstNode root, Searchable searchable) {
+        if (root.isTarget() || !SolvabilityService.isSolvable(root.getBoard(), root.getEmptyPieceIndex())) {
             return null;
         }
 
-        return initSearch().search(root);
+        SolutionFoundEvent event = FlightRecorder.isInitialized() ? new SolutionFoundEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+
+        Node targetNode = searchable.search(root);
+        if (targetNode != null && event != null && event.shouldCommit()) {
+            event.searchName = searchable.getClass().getSimpleName();
+            event.pathCost = targetNode.getWeight();
+            event.pathLength = calcPathLength(targetNode);
+            event.numGeneratedNodes = Node.getNumNodes();
+            event.commit();
+        }
+
+        return targetNode;
+    }
+
+    /**
+     * This method calculates the number of moves from the root to the provided node.
+     *
+     * @param node the node.
+     * @return The number of moves.
+     */
+    private static int calcPathLength(Node node) {
+        int pathLength = 0;
+        for (Node parent = node.getParent(); parent != null; parent = parent.getParent()) {
+            pathLength++;
+        }
+
+        return pathLength;
     }
 
     /**
-     * This method initializes the search algorithm based on user input.
+     * This method initializes the search algorithm based on the provided name.
      *
+     * @param searchName the name of the search algorithm.
      * @return An instance of the selected search algorithm.
      * @throws UnsupportedSearchNameException if the search algorithm name is not supported.
      */
-    private static Searchable initSearch() {
-        String searchName = InputParser.getSearchName();
+    public static Searchable initSearch(String searchName) {
         return switch (searchName.toUpperCase()) {
             case "BFS" -> new BFS();
+            case "EXTERNAL BFS" -> new ExternalBFS();
             case "IDDFS" -> new IDDFS();
+            case "TRANSPOSITION IDDFS" -> new TranspositionIDDFS();
             case "A*" -> new AStar();
+            case "ARA*" -> new ARAStar();
+            case "SMA*" -> new SMAStar();
+            case "EXTERNAL A*" -> new ExternalAStar();
+            case "HDA*" -> new HDAStar();
             case "IDA*" -> new IDAStar();
+            case "IN-PLACE IDA*" -> new InPlaceIDAStar();
+            case "PARALLEL IDA*" -> new ParallelIDAStar();
+            case "MM" -> new MM();
+            case "TABLEBASE" -> new TablebaseLookup();
             case "DFBNB" -> new DFBnB();
             default -> throw new UnsupportedSearchNameException(searchName);
         };
@@ -58,12 +125,18 @@ public class OutputService {
      * @param targetNode the target node.
      */
     public static void printShortestPath(PrintWriter outputFile, Node targetNode) {
+        outputFile.println(formatShortestPath(targetNode));
+    }
+
+    /**
+     * This method formats the shortest path from the root to the target node.
+     *
+     * @param targetNode the target node.
+     * @return The shortest path as a string, or "No path" if there is none.
+     */
+    public static String formatShortestPath(Node targetNode) {
         String shortestPath = createShortestPath(targetNode);
-        if (shortestPath.isEmpty()) {
-            outputFile.println("No path");
-        } else {
-            outputFile.println(shortestPath);
-        }
+        return shortestPath.isEmpty() ? "No path" : shortestPath;
     }
 
     /**
@@ -118,6 +191,27 @@ public class OutputService {
         }
     }
 
+    /**
+     * This method prints the provided metrics of the search to the provided PrintWriter.
+     * The number of nodes expanded per f value is printed as a line per f value, in ascending order.
+     *
+     * @param outputFile PrintWriter to write the output.
+     * @param metrics    the metrics of the search.
+     */
+    public static void printMetrics(PrintWriter outputFile, SearchMetrics metrics) {
+        outputFile.println(String.format("Num of nodes expanded: %d", metrics.getNumExpandedNodes()));
+        outputFile.println(String.format("Num of duplicate nodes: %d", metrics.getNumDuplicateNodes()));
+        outputFile.println(String.format("Num of reopened nodes: %d", metrics.getNumReopenedNodes()));
+        outputFile.println(String.format("Peak open list size: %d", metrics.getPeakOpenSize()));
+        outputFile.println(String.format("Peak closed list size: %d", metrics.getPeakClosedSize()));
+        outputFile.println("Expansions per f value:");
+        metrics.getExpansionsPerF().forEach((f, numExpandedNodes) -> outputFile.println(String.format("  f = %d: %d", f, numExpandedNodes)));
+        outputFile.println(String.format("Parse time: %d ns", metrics.getParseTime()));
+        outputFile.println(String.format("Setup time: %d ns", metrics.getSetupTime()));
+        outputFile.println(String.format("Search time: %d ns", metrics.getSearchTime()));
+        outputFile.println(String.format("Output time: %d ns", metrics.getOutputTime()));
+    }
+
     /**
      * This method prints the execution time to the provided PrintWriter.
      *
@@ -129,6 +223,24 @@ public class OutputService {
         outputFile.println(String.format("%.3f seconds", duration));
     }
 
+    /**
+     * This method creates the result record of a single puzzle of a batch.
+     * The fields of the record are separated by tabs, in the order of the header of the results file.
+     *
+     * @param searchName the name of the search algorithm.
+     * @param dimension  the dimension of the puzzle.
+     * @param root       the root node from which the search begins.
+     * @param targetNode the target node.
+     * @param start      the start time in milliseconds.
+     * @return The result record.
+     */
+    public static String createResultRecord(String searchName, String dimension, Node root, Node targetNode, long start) {
+        String pathCost = targetNode != null && targetNode != root ? String.valueOf(targetNode.getWeight()) : PunctuationConstants.EMPTY;
+        double duration = (System.currentTimeMillis() - start) / 1000.0;
+        return String.join(PunctuationConstants.TAB, searchName, dimension, formatShortestPath(targetNode),
+                           String.valueOf(Node.getNumNodes()), pathCost, String.format("%.3f", duration));
+    }
+
     private OutputService() {
     }
 }
@@ -2,14 +2,18 @@ package service;
 
 import component.Dimension;
 import component.GeneratingOperator;
+import component.Move;
 import component.Piece;
 import component.Point;
 import constants.SearchConstants;
+import heuristic.Heuristic;
 import infrastructure.InformedDepthFirstNode;
 import infrastructure.Node;
 import infrastructure.State;
+import infrastructure.StateKey;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -19,43 +23,81 @@ import java.util.Map;
  */
 public class SearchService {
 
+    private static final Move[][] moves = createMoves();
+
     /**
-     * This method expands the provided node based on the generating operator.
+     * This method creates the move table, which lists the legal moves for each index of the empty piece.
+     * Moves off the board and moves of pieces fixed on the board are left out.
      *
-     * @param node               the node being expanded.
-     * @param generatingOperator the generating operator for the expansion.
-     * @return The node resulting from the expansion, or null if expansion is not possible.
+     * @return The created move table.
      */
-    public static InformedDepthFirstNode expandNode(Node node, GeneratingOperator generatingOperator) {
-        if (generatingOperator.isNotOpposite(node.getGeneratingOperator())) {
-            int nextEmptyPieceIndex = findNextEmptyPieceIndex(node, generatingOperator);
-            if (nextEmptyPieceIndex != SearchConstants.NOT_FOUND) {
-                InformedDepthFirstNode neighbor = new InformedDepthFirstNode(node, generatingOperator);
-                updateNeighbor(neighbor, nextEmptyPieceIndex);
-                return neighbor;
+    private static Move[][] createMoves() {
+        Move[][] moves = new Move[Dimension.BOARD_SIZE][];
+        for (int emptyPieceIndex = 0; emptyPieceIndex < Dimension.BOARD_SIZE; emptyPieceIndex++) {
+            List<Move> legalMoves = new ArrayList<>();
+            for (GeneratingOperator generatingOperator : GeneratingOperator.values()) {
+                if (isMovePermitted(emptyPieceIndex, generatingOperator)) {
+                    int nextEmptyPieceIndex = calcNextEmptyPieceIndex(emptyPieceIndex, generatingOperator);
+                    if (InfrastructureService.toPiece(nextEmptyPieceIndex).isNotFixedOnBoard()) {
+                        legalMoves.add(new Move(generatingOperator, nextEmptyPieceIndex));
+                    }
+                }
             }
+
+            moves[emptyPieceIndex] = legalMoves.toArray(new Move[0]);
         }
 
-        return null;
+        return moves;
     }
 
     /**
-     * This method finds the index of the next empty piece based on the provided state and generating operator.
+     * This method returns the legal moves of the empty piece in the provided state.
      *
-     * @param state              a configuration of the puzzle.
-     * @param generatingOperator the generating operator representing the move direction.
-     * @return The index of the next empty piece, or NOT_FOUND if not found.
+     * @param state a configuration of the puzzle.
+     * @return The legal moves.
      */
-    private static int findNextEmptyPieceIndex(State state, GeneratingOperator generatingOperator) {
-        int emptyPieceIndex = state.getEmptyPieceIndex();
-        if (isMovePermitted(emptyPieceIndex, generatingOperator)) {
-            int nextEmptyPieceIndex = calcNextEmptyPieceIndex(emptyPieceIndex, generatingOperator);
-            if (state.getBoard().get(nextEmptyPieceIndex).isNotFixedOnBoard()) {
-                return nextEmptyPieceIndex;
-            }
+    public static Move[] getMoves(State state) {
+        return getMoves(state.getEmptyPieceIndex());
+    }
+
+    /**
+     * This method returns the legal moves of the empty piece at the provided index.
+     *
+     * @param emptyPieceIndex the index of the empty piece.
+     * @return The legal moves.
+     */
+    public static Move[] getMoves(int emptyPieceIndex) {
+        return moves[emptyPieceIndex];
+    }
+
+    /**
+     * This method expands the provided node based on the move.
+     *
+     * @param node the node being expanded.
+     * @param move a legal move of the empty piece in the node.
+     * @return The node resulting from the expansion, or null if the move reverses the generating operator of the node.
+     */
+    public static InformedDepthFirstNode expandNode(Node node, Move move) {
+        return expandNode(node, move, InfrastructureService.getHeuristic());
+    }
+
+    /**
+     * This method expands the provided node based on the move, updating the h value of the new node by the provided heuristic.
+     *
+     * @param node      the node being expanded.
+     * @param move      a legal move of the empty piece in the node.
+     * @param heuristic the heuristic whose evaluation the node holds.
+     * @return The node resulting from the expansion, or null if the move reverses the generating operator of the node.
+     */
+    public static InformedDepthFirstNode expandNode(Node node, Move move, Heuristic heuristic) {
+        GeneratingOperator generatingOperator = move.generatingOperator();
+        if (generatingOperator.isNotOpposite(node.getGeneratingOperator())) {
+            InformedDepthFirstNode neighbor = new InformedDepthFirstNode(node, generatingOperator);
+            updateNeighbor(neighbor, move.nextEmptyPieceIndex(), heuristic);
+            return neighbor;
         }
 
-        return SearchConstants.NOT_FOUND;
+        return null;
     }
 
     /**
@@ -93,15 +135,20 @@ public class SearchService {
 
     /**
      * This method updates the properties of the newly created node after the expansion.
+     * When assertions are enabled, the incrementally updated h value is checked against a full calculation.
      *
      * @param neighbor            the newly created node.
      * @param nextEmptyPieceIndex the index of the next empty piece.
+     * @param heuristic           the heuristic whose evaluation the node holds.
      */
-    private static void updateNeighbor(InformedDepthFirstNode neighbor, int nextEmptyPieceIndex) {
-        Piece nextEmptyPiece = neighbor.getBoard().get(nextEmptyPieceIndex);
+    private static void updateNeighbor(InformedDepthFirstNode neighbor, int nextEmptyPieceIndex, Heuristic heuristic) {
+        int tile = neighbor.getBoard()[nextEmptyPieceIndex];
+        Piece nextEmptyPiece = InfrastructureService.toPiece(tile);
         neighbor.setWeight(neighbor.getWeight() + nextEmptyPiece.color().cost);
+        neighbor.updateH(heuristic.calcHDelta(neighbor.getBoard(), nextEmptyPieceIndex, neighbor.getEmptyPieceIndex()));
         neighbor.setEdgeTagFromParent(nextEmptyPiece.rawData() + neighbor.getGeneratingOperator());
         performSwap(neighbor, nextEmptyPieceIndex);
+        assert neighbor.getH() == heuristic.h(neighbor.getBoard()) : "incremental h differs from a full calculation";
     }
 
     /**
@@ -111,21 +158,19 @@ public class SearchService {
      * @param nextEmptyPieceIndex the index of the next empty piece.
      */
     private static void performSwap(State state, int nextEmptyPieceIndex) {
-        int emptyPieceIndex = state.getEmptyPieceIndex();
-        Collections.swap(state.getBoard(), emptyPieceIndex, nextEmptyPieceIndex);
-        state.setEmptyPieceIndex(nextEmptyPieceIndex);
+        state.moveEmptyPiece(nextEmptyPieceIndex);
     }
 
     /**
      * This method tags the provided neighbor based on loop avoidance and target conditions.
      *
      * @param neighbor      the neighbor being considered.
-     * @param neighborCode  the unique code representing the neighbor.
+     * @param neighborKey   the unique key representing the neighbor.
      * @param loopAvoidance the map that tracks visited nodes to prevent cycles during the search.
      * @return A string indicating the tag of the neighbor (TARGET, POTENTIAL or REDUNDANT).
      */
-    public static String tagNeighbor(InformedDepthFirstNode neighbor, String neighborCode, Map<String, InformedDepthFirstNode> loopAvoidance) {
-        if (!loopAvoidance.containsKey(neighborCode)) {
+    public static String tagNeighbor(InformedDepthFirstNode neighbor, StateKey neighborKey, Map<StateKey, InformedDepthFirstNode> loopAvoidance) {
+        if (!loopAvoidance.containsKey(neighborKey)) {
             if (neighbor.isTarget()) {
                 return SearchConstants.TARGET;
             }
@@ -133,7 +178,7 @@ public class SearchService {
             return SearchConstants.POTENTIAL;
         }
 
-        InformedDepthFirstNode node = loopAvoidance.get(neighborCode);
+        InformedDepthFirstNode node = loopAvoidance.get(neighborKey);
         if (node.isNotMarked() && neighbor.getF() < node.getF()) {
             node.mark();
             return SearchConstants.POTENTIAL;
@@ -149,8 +194,8 @@ public class SearchService {
      * @param loopAvoidance the map that tracks visited nodes to prevent cycles during the search.
      * @return A string indicating the tag of the neighbor (TARGET, POTENTIAL or REDUNDANT).
      */
-    public static String tagNeighbor(InformedDepthFirstNode neighbor, Map<String, InformedDepthFirstNode> loopAvoidance) {
-        return tagNeighbor(neighbor, neighbor.toString(), loopAvoidance);
+    public static String tagNeighbor(InformedDepthFirstNode neighbor, Map<StateKey, InformedDepthFirstNode> loopAvoidance) {
+        return tagNeighbor(neighbor, neighbor.getKey(), loopAvoidance);
     }
 
     private SearchService() {
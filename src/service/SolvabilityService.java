@@ -0,0 +1,115 @@
+package service;
+
+import component.Dimension;
+import component.Move;
+import component.Point;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+
+/**
+ * This class provides a set of methods for rejecting boards whose target pattern is unreachable before searching.
+ * Both checks are necessary conditions only, so a board that passes them may still turn out to be unsolvable.
+ *
+ * @author Yahav Karpel
+ */
+public class SolvabilityService {
+
+    private static final int NO_REGION = -1;
+
+    // the connected region of each cell not held by a gray piece
+    private static final int[] regions = createRegions();
+
+    /**
+     * This method labels the connected regions of the cells not held by gray pieces.
+     * Pieces can never leave their region, since gray pieces never move.
+     *
+     * @return The region of each cell, or NO_REGION for cells held by gray pieces.
+     */
+    private static int[] createRegions() {
+        int[] regions = new int[Dimension.BOARD_SIZE];
+        Arrays.fill(regions, NO_REGION);
+        int numRegions = 0;
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int cell = 0; cell < Dimension.BOARD_SIZE; cell++) {
+            if (regions[cell] == NO_REGION && InfrastructureService.toPiece(cell).isNotFixedOnBoard()) {
+                regions[cell] = numRegions;
+                queue.add(cell);
+                while (!queue.isEmpty()) {
+                    for (Move move : SearchService.getMoves(queue.remove())) {
+                        if (regions[move.nextEmptyPieceIndex()] == NO_REGION) {
+                            regions[move.nextEmptyPieceIndex()] = numRegions;
+                            queue.add(move.nextEmptyPieceIndex());
+                        }
+                    }
+                }
+
+                numRegions++;
+            }
+        }
+
+        return regions;
+    }
+
+    /**
+     * This method checks if the target pattern may be reachable from the provided board.
+     *
+     * @param board           the tile ids of a configuration of the pieces.
+     * @param emptyPieceIndex the index of the empty piece on the board.
+     * @return false if the target pattern is unreachable, true otherwise.
+     */
+    public static boolean isSolvable(byte[] board, int emptyPieceIndex) {
+        return isEachPieceInReach(board, emptyPieceIndex) && isParityPreserved(board, emptyPieceIndex);
+    }
+
+    /**
+     * This method checks if every piece can reach its target cell. A piece must lie in the region of its target cell,
+     * and a piece in a region without the empty piece can never move, so it must already lie in its target cell.
+     *
+     * @param board           the tile ids of a configuration of the pieces.
+     * @param emptyPieceIndex the index of the empty piece on the board.
+     * @return true if every piece can reach its target cell, false otherwise.
+     */
+    private static boolean isEachPieceInReach(byte[] board, int emptyPieceIndex) {
+        for (int cell = 0; cell < board.length; cell++) {
+            int tile = board[cell];
+            if (regions[cell] != regions[tile] || (regions[cell] != regions[emptyPieceIndex] && tile != cell)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * This method checks if the parity of the board matches the parity of the target pattern.
+     * Every move swaps the empty piece with a neighbor, which flips the parity of the permutation of the tiles,
+     * and moves the empty piece to a cell of the other color of the checkerboard. Therefore, the permutation is
+     * even exactly when the empty piece stands on the color of its target cell, on boards of any width.
+     *
+     * @param board           the tile ids of a configuration of the pieces.
+     * @param emptyPieceIndex the index of the empty piece on the board.
+     * @return true if the parities match, false otherwise.
+     */
+    private static boolean isParityPreserved(byte[] board, int emptyPieceIndex) {
+        boolean[] visited = new boolean[board.length];
+        int numTranspositions = 0;
+        for (int cell = 0; cell < board.length; cell++) {
+            for (int next = cell; !visited[next]; next = board[next]) {
+                visited[next] = true;
+                if (board[next] != cell) {
+                    numTranspositions++;
+                }
+            }
+        }
+
+        Point emptyPiecePoint = new Point(emptyPieceIndex);
+        Point targetPoint = new Point(InfrastructureService.EMPTY_TILE);
+        int emptyPieceDistance = emptyPiecePoint.calcAbsRowDistance(targetPoint) + emptyPiecePoint.calcAbsColumnDistance(targetPoint);
+        return numTranspositions % 2 == emptyPieceDistance % 2;
+    }
+
+    private SolvabilityService() {
+    }
+}